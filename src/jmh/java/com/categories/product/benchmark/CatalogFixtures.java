@@ -0,0 +1,41 @@
+package com.categories.product.benchmark;
+
+import com.categories.product.dto.productDTO.ProductResponse;
+import com.categories.product.entities.Category;
+import com.categories.product.entities.Product;
+import com.categories.product.mapper.ProductMapper;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+    Synthetic catalog shared by the benchmarks, values look like the dummy rows documented on the entities.
+ */
+final class CatalogFixtures {
+
+    private CatalogFixtures() {}
+
+    static Category category(long id, int productCount) {
+        Category category = new Category(id, "Category " + id, null);
+        List<Product> products = new ArrayList<>(productCount);
+        for (int i = 1; i <= productCount; i++) {
+            products.add(product(id * 1_000_000L + i, category));
+        }
+        category.setProducts(products);
+        return category;
+    }
+
+    static Product product(long id, Category category) {
+        return new Product(
+                id,
+                "Product " + id,
+                "Cotton half-sleeves men T-shirt, size M, product number " + id,
+                100.0 + (id % 90_000),
+                category
+        );
+    }
+
+    static List<ProductResponse> responses(Category category) {
+        return category.getProducts().stream().map(ProductMapper::toProductResponse).toList();
+    }
+}
@@ -0,0 +1,73 @@
+package com.categories.product.benchmark;
+
+import com.categories.product.dto.pageDTO.CursorPageResponse;
+import com.categories.product.dto.productDTO.ProductRequest;
+import com.categories.product.dto.productDTO.ProductResponse;
+import com.categories.product.mapper.CursorMapper;
+import com.categories.product.security.JacksonConfig;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/*
+    JSON encoding with the ObjectMapper the application uses (JacksonConfig), for a list of
+    catalogSize products, one cursor page of them and a single request body.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class JsonSerializationBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    public int catalogSize;
+
+    private ObjectWriter writer;
+    private ObjectReader requestReader;
+
+    private List<ProductResponse> products;
+    private CursorPageResponse<ProductResponse> page;
+    private byte[] requestJson;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = new JacksonConfig().objectMapper();
+        writer = objectMapper.writer();
+        requestReader = objectMapper.readerFor(ProductRequest.class);
+
+        products = CatalogFixtures.responses(CatalogFixtures.category(1L, catalogSize));
+        List<ProductResponse> firstPage = products.subList(0, Math.min(CursorMapper.DEFAULT_PAGE_SIZE, products.size()));
+        page = new CursorPageResponse<>(firstPage, CursorMapper.encode(firstPage.get(firstPage.size() - 1).getId()),
+                firstPage.size(), products.size() > firstPage.size());
+        requestJson = objectMapper.writeValueAsBytes(
+                new ProductRequest("iPhone 15", "Latest Apple flagship smartphone", 79999.0, 1));
+    }
+
+    @Benchmark
+    public byte[] writeProductList() throws IOException {
+        return writer.writeValueAsBytes(products);
+    }
+
+    @Benchmark
+    public byte[] writeFirstPage() throws IOException {
+        return writer.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public ProductRequest readProductRequest() throws IOException {
+        return requestReader.readValue(requestJson);
+    }
+}
@@ -0,0 +1,103 @@
+package com.categories.product.benchmark;
+
+import com.categories.product.security.JwtClaims;
+import com.categories.product.security.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.security.Key;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/*
+    Per-request cost of JWT verification in JwtRequestFilter.
+
+    legacyFourParses -> what the filter used to do: extractUsername + validateToken (subject, expiration)
+                        + extractRoles, each building a new parser and verifying the HMAC again
+    parseOnce        -> JwtUtil.parse, one verification with the shared parser
+    verifyCached     -> JwtUtil.verify, the steady state for a client re-using its token
+    generateToken    -> signing a new token (login / register)
+    extractClaim     -> JwtUtil.extractClaim, uncached parse with the shared parser
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+public class JwtVerificationBenchmark {
+
+    private Key legacyKey;
+    private String legacyToken;
+
+    private JwtUtil jwtUtil;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        legacyKey = Keys.secretKeyFor(SignatureAlgorithm.HS256);
+        legacyToken = Jwts.builder()
+                .setSubject("seller")
+                .claim("roles", List.of("ROLE_SELLER"))
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1)))
+                .signWith(legacyKey, SignatureAlgorithm.HS256)
+                .compact();
+
+        jwtUtil = new JwtUtil();
+        jwtUtil.init();
+    }
+
+    // JwtUtil tokens expire after 2 minutes, shorter than a whole run: a fresh one for every iteration
+    @Setup(Level.Iteration)
+    public void issueToken() {
+        token = jwtUtil.generateToken("seller", List.of("ROLE_SELLER"));
+    }
+
+    @Benchmark
+    public void legacyFourParses(Blackhole bh) {
+        bh.consume(legacyParse().getSubject());    // extractUsername
+        bh.consume(legacyParse().getSubject());    // validateToken -> extractUsername
+        bh.consume(legacyParse().getExpiration()); // validateToken -> isTokenExpired
+        bh.consume(legacyParse().get("roles", List.class)); // extractRoles
+    }
+
+    @Benchmark
+    public JwtClaims parseOnce() {
+        return jwtUtil.parse(token);
+    }
+
+    @Benchmark
+    public JwtClaims verifyCached() {
+        return jwtUtil.verify(token);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken("seller", List.of("ROLE_SELLER"));
+    }
+
+    @Benchmark
+    public String extractClaim() {
+        return jwtUtil.extractClaim(token, Claims::getSubject);
+    }
+
+    private Claims legacyParse() {
+        return Jwts.parserBuilder()
+                .setSigningKey(legacyKey)
+                .build()
+                .parseClaimsJws(legacyToken)
+                .getBody();
+    }
+}
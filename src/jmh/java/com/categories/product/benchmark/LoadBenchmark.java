@@ -0,0 +1,144 @@
+package com.categories.product.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+    Closed loop HTTP load against a running instance, used to compare the platform thread pool
+    with spring.threads.virtual.enabled=true. Not a JMH benchmark: every connection is one client
+    virtual thread that sends a request, waits for the answer and sends the next one.
+
+    ./mvnw -Pjmh test-compile exec:exec -Dbench.main=com.categories.product.benchmark.LoadBenchmark \
+        -Djmh.args="--url http://localhost:8080/api/products/1 --connections 1000,5000,10000 --duration 30s --label virtual"
+
+    Prints requests/s, error count and p50 / p99 / p999 / max latency per connection level.
+    Client and server should run on different machines, and the OS needs enough file descriptors
+    (ulimit -n) for the highest connection level. Latencies are measured per request, a closed loop
+    under-reports queueing delay (coordinated omission), so compare runs with each other only.
+ */
+public class LoadBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        String url = "http://localhost:8080/api/products/1";
+        int[] levels = {1000, 5000, 10000};
+        Duration duration = Duration.ofSeconds(30);
+        Duration warmup = Duration.ofSeconds(10);
+        String label = "";
+
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--url" -> url = args[i + 1];
+                case "--connections" -> levels = Arrays.stream(args[i + 1].split(",")).mapToInt(Integer::parseInt).toArray();
+                case "--duration" -> duration = parseDuration(args[i + 1]);
+                case "--warmup" -> warmup = parseDuration(args[i + 1]);
+                case "--label" -> label = args[i + 1];
+                default -> throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+
+        System.out.printf("%-10s %12s %12s %10s %10s %10s %10s %10s%n",
+                "label", "connections", "req/s", "errors", "p50 ms", "p99 ms", "p999 ms", "max ms");
+        for (int connections : levels) {
+            run(url, connections, warmup);
+            Result result = run(url, connections, duration);
+            System.out.printf("%-10s %12d %12.0f %10d %10.2f %10.2f %10.2f %10.2f%n",
+                    label, connections, result.throughput(), result.errors,
+                    result.percentile(0.5), result.percentile(0.99), result.percentile(0.999), result.percentile(1.0));
+        }
+    }
+
+    private static Result run(String url, int connections, Duration duration) throws InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url)).GET().build();
+        LongAdder errors = new LongAdder();
+        List<LatencyRecorder> recorders = new ArrayList<>(connections);
+        long deadline = System.nanoTime() + duration.toNanos();
+
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor();
+             ExecutorService io = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient client = HttpClient.newBuilder()
+                     .version(HttpClient.Version.HTTP_1_1)      // one TCP connection per in-flight request
+                     .connectTimeout(Duration.ofSeconds(30))
+                     .executor(io)
+                     .build()) {
+            for (int c = 0; c < connections; c++) {
+                LatencyRecorder recorder = new LatencyRecorder();
+                recorders.add(recorder);
+                clients.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() >= 400) errors.increment();
+                        } catch (Exception e) {
+                            errors.increment();
+                        }
+                        recorder.record(System.nanoTime() - start);
+                    }
+                });
+            }
+            clients.shutdown();
+            clients.awaitTermination(duration.toSeconds() + 120, TimeUnit.SECONDS);
+        }
+        return new Result(recorders, errors.sum(), duration);
+    }
+
+    private static Duration parseDuration(String value) {
+        if (value.endsWith("ms")) return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        if (value.endsWith("s")) return Duration.ofSeconds(Long.parseLong(value.substring(0, value.length() - 1)));
+        if (value.endsWith("m")) return Duration.ofMinutes(Long.parseLong(value.substring(0, value.length() - 1)));
+        return Duration.ofSeconds(Long.parseLong(value));
+    }
+
+    // Per connection latencies, only touched by its own client thread
+    private static final class LatencyRecorder {
+
+        private long[] nanos = new long[1024];
+        private int size;
+
+        void record(long latency) {
+            if (size == nanos.length) nanos = Arrays.copyOf(nanos, size * 2);
+            nanos[size++] = latency;
+        }
+    }
+
+    private static final class Result {
+
+        private final long[] sorted;
+        private final long errors;
+        private final Duration duration;
+
+        Result(List<LatencyRecorder> recorders, long errors, Duration duration) {
+            int total = recorders.stream().mapToInt(r -> r.size).sum();
+            long[] all = new long[total];
+            int offset = 0;
+            for (LatencyRecorder recorder : recorders) {
+                System.arraycopy(recorder.nanos, 0, all, offset, recorder.size);
+                offset += recorder.size;
+            }
+            Arrays.sort(all);
+            this.sorted = all;
+            this.errors = errors;
+            this.duration = duration;
+        }
+
+        double throughput() {
+            return sorted.length / (duration.toMillis() / 1000.0);
+        }
+
+        double percentile(double p) {
+            if (sorted.length == 0) return 0;
+            int index = (int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1);
+            return sorted[Math.max(0, index)] / 1_000_000.0;
+        }
+    }
+}
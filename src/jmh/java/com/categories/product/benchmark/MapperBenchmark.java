@@ -0,0 +1,65 @@
+package com.categories.product.benchmark;
+
+import com.categories.product.dto.categoryDTO.CategoryResponse;
+import com.categories.product.dto.productDTO.ProductRequest;
+import com.categories.product.dto.productDTO.ProductResponse;
+import com.categories.product.entities.Category;
+import com.categories.product.entities.Product;
+import com.categories.product.mapper.CategoryMapper;
+import com.categories.product.mapper.ProductMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/*
+    Cost of the entity <-> DTO mappers for a category holding catalogSize products.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class MapperBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    public int catalogSize;
+
+    private Category category;
+    private Product product;
+    private ProductRequest request;
+
+    @Setup
+    public void setUp() {
+        category = CatalogFixtures.category(1L, catalogSize);
+        product = category.getProducts().get(0);
+        request = new ProductRequest("iPhone 15", "Latest Apple flagship smartphone", 79999.0, 1);
+    }
+
+    @Benchmark
+    public ProductResponse productToResponse() {
+        return ProductMapper.toProductResponse(product);
+    }
+
+    @Benchmark
+    public Product requestToProduct() {
+        return ProductMapper.toProductEntity(request, category);
+    }
+
+    @Benchmark
+    public List<ProductResponse> productListToResponses() {
+        return category.getProducts().stream().map(ProductMapper::toProductResponse).toList();
+    }
+
+    @Benchmark
+    public CategoryResponse categoryToResponse() {
+        return CategoryMapper.toCategoryResponse(category);
+    }
+}
@@ -0,0 +1,90 @@
+package com.categories.product.benchmark;
+
+import com.categories.product.dto.productDTO.ProductResponse;
+import com.categories.product.event.ProductChangedEvent;
+import com.categories.product.search.ProductPriceIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/*
+    ProductPriceIndex against a TreeMap<Double, ProductResponse> for catalogSize products.
+
+    count             -> number of products in a 10% price band (two binary searches)
+    page              -> count + ids of the first 20 products in the band
+    categoryPage      -> same band restricted to one of 50 categories (one pass over the band)
+    treeMapCount      -> the same band counted through TreeMap.subMap
+    update            -> re-price one product (remove + sorted insert)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class PriceIndexBenchmark {
+
+    @Param({"100000", "1000000"})
+    public int catalogSize;
+
+    private ProductPriceIndex index;
+    private NavigableMap<Double, ProductResponse> treeMap;
+    private ProductResponse updated;
+
+    @Setup
+    public void setUp() {
+        index = new ProductPriceIndex(null, null);
+        treeMap = new TreeMap<>();
+        Random random = new Random(42);
+        double[] prices = new double[catalogSize];
+        for (int i = 0; i < catalogSize; i++) {
+            prices[i] = Math.round(random.nextDouble() * 100_000_00) / 100.0;
+        }
+        // cheapest first, every insert appends (this is what the startup build does too)
+        Arrays.sort(prices);
+        for (int i = 0; i < catalogSize; i++) {
+            long id = i + 1;
+            ProductResponse product = new ProductResponse(id, "Product " + id, null, prices[i], id % 50 + 1);
+            index.onProductChanged(ProductChangedEvent.created(product));
+            treeMap.put(product.getPrice(), product);
+        }
+        updated = new ProductResponse(catalogSize / 2L, "Product", null, 49_999.0, 1L);
+    }
+
+    @Benchmark
+    public long count() {
+        return index.count(40_000, 50_000);
+    }
+
+    @Benchmark
+    public ProductPriceIndex.Range page() {
+        return index.range(40_000, 50_000, null, 0, 20);
+    }
+
+    @Benchmark
+    public ProductPriceIndex.Range categoryPage() {
+        return index.range(40_000, 50_000, 7L, 0, 20);
+    }
+
+    @Benchmark
+    public int treeMapCount() {
+        Map<Double, ProductResponse> band = treeMap.subMap(40_000.0, true, 50_000.0, true);
+        return band.size();
+    }
+
+    @Benchmark
+    public void update() {
+        index.onProductChanged(ProductChangedEvent.updated(updated, updated.getCategoryId()));
+    }
+}
@@ -0,0 +1,124 @@
+package com.categories.product.benchmark;
+
+import com.categories.product.ProductApplication;
+import com.categories.product.dto.productDTO.ProductResponse;
+import com.categories.product.entities.Category;
+import com.categories.product.entities.Product;
+import com.categories.product.mapper.ProductMapper;
+import com.categories.product.repositories.CategoryRepository;
+import com.categories.product.repositories.ProductRepository;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/*
+    One page of ROWS products read through JPA, against in-memory H2 (needs the embedded profile):
+
+        ./mvnw -Pjmh,embedded test-compile exec:exec -Djmh.args="ProjectionBenchmark -prof gc"
+
+    entities          -> managed Product entities + Category proxies, mapped by ProductMapper (the old list path)
+    entitiesReadOnly  -> same, in a read-only transaction (no snapshots for dirty checking, no flush)
+    projection        -> ProductRepository.findResponsesAfter, rows selected straight into ProductResponse
+
+    Scores and gc.alloc.rate.norm are per row (@OperationsPerInvocation), the database part is the same for all three.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class ProjectionBenchmark {
+
+    private static final int ROWS = 500;
+
+    private static final String ENTITY_PAGE = "SELECT p FROM Product p WHERE p.id > :after ORDER BY p.id";
+
+    private ConfigurableApplicationContext context;
+    private ProductRepository productRepository;
+    private EntityManager entityManager;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(ProductApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("embedded")
+                .properties(
+                        "catalog.reactive.enabled=false",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=WARN")
+                .run();
+        productRepository = context.getBean(ProductRepository.class);
+        entityManager = context.getBean(EntityManager.class);
+
+        PlatformTransactionManager transactionManager = context.getBean(PlatformTransactionManager.class);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        // a few categories so the proxies are not all the same instance
+        List<Category> categories = new ArrayList<>();
+        for (int c = 1; c <= 10; c++) {
+            Category category = new Category();
+            category.setName("Category " + c);
+            categories.add(context.getBean(CategoryRepository.class).save(category));
+        }
+        List<Product> products = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            products.add(new Product(null, "Product " + i, "Description of product " + i,
+                    100.0 + i, categories.get(i % categories.size())));
+        }
+        productRepository.saveAll(products);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public List<ProductResponse> entities() {
+        return readWrite.execute(status -> loadEntities());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public List<ProductResponse> entitiesReadOnly() {
+        return readOnly.execute(status -> loadEntities());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public List<ProductResponse> projection() {
+        return productRepository.findResponsesAfter(0L, Limit.of(ROWS));
+    }
+
+    private List<ProductResponse> loadEntities() {
+        return entityManager.createQuery(ENTITY_PAGE, Product.class)
+                .setParameter("after", 0L)
+                .setMaxResults(ROWS)
+                .getResultList()
+                .stream()
+                .map(ProductMapper::toProductResponse)
+                .toList();
+    }
+}
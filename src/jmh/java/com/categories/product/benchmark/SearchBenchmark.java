@@ -0,0 +1,94 @@
+package com.categories.product.benchmark;
+
+import com.categories.product.dto.productDTO.ProductResponse;
+import com.categories.product.event.ProductChangedEvent;
+import com.categories.product.search.ProductSearchIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/*
+    ProductSearchIndex query latency for a catalog of catalogSize products with a mixed vocabulary.
+
+    rareTerm    -> one term matching ~0.1% of the catalog
+    commonTerm  -> one term matching ~10% of the catalog
+    threeTerms  -> OR of three terms, scored and ranked together
+    deepPage    -> commonTerm, page 50
+    update      -> re-index one product (remove + add under the write lock)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class SearchBenchmark {
+
+    private static final String[] BRANDS = {"apple", "samsung", "sony", "lg", "nike", "adidas", "puma", "amul", "tata", "boat"};
+    private static final String[] KINDS = {"phone", "tv", "shirt", "milk", "shoes", "laptop", "watch", "speaker", "jeans", "bread"};
+    private static final String[] WORDS = {"cotton", "smart", "fresh", "wireless", "led", "organic", "leather", "steel",
+            "premium", "classic", "slim", "sport", "4k", "bluetooth", "waterproof", "handmade", "digital", "compact",
+            "family", "kids"};
+
+    @Param({"10000", "100000"})
+    public int catalogSize;
+
+    private ProductSearchIndex index;
+    private ProductResponse updated;
+
+    @Setup
+    public void setUp() {
+        index = new ProductSearchIndex(null, null, null);
+        Random random = new Random(42);
+        for (long id = 1; id <= catalogSize; id++) {
+            ProductResponse product = product(id, random);
+            index.onProductChanged(ProductChangedEvent.created(product));
+        }
+        updated = product(catalogSize / 2, new Random(7));
+    }
+
+    private static ProductResponse product(long id, Random random) {
+        String name = BRANDS[random.nextInt(BRANDS.length)] + " " + KINDS[random.nextInt(KINDS.length)] + " " + id;
+        StringBuilder description = new StringBuilder();
+        for (int i = 0; i < 8; i++) {
+            description.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+        }
+        // ~0.1% of the products mention a rare word
+        if (random.nextInt(1000) == 0) {
+            description.append("limited edition");
+        }
+        return new ProductResponse(id, name, description.toString(), 100.0 + (id % 90_000), id % 50 + 1);
+    }
+
+    @Benchmark
+    public ProductSearchIndex.Hits rareTerm() {
+        return index.search("limited", 0, 20);
+    }
+
+    @Benchmark
+    public ProductSearchIndex.Hits commonTerm() {
+        return index.search("samsung", 0, 20);
+    }
+
+    @Benchmark
+    public ProductSearchIndex.Hits threeTerms() {
+        return index.search("Sony wireless speaker", 0, 20);
+    }
+
+    @Benchmark
+    public ProductSearchIndex.Hits deepPage() {
+        return index.search("samsung", 50, 20);
+    }
+
+    @Benchmark
+    public void update() {
+        index.onProductChanged(ProductChangedEvent.updated(updated, updated.getCategoryId()));
+    }
+}
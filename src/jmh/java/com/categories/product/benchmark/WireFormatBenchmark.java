@@ -0,0 +1,93 @@
+package com.categories.product.benchmark;
+
+import com.categories.product.dto.productDTO.ProductResponse;
+import com.categories.product.security.JacksonConfig;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/*
+    A list of catalogSize products in each response format (JacksonConfig mappers):
+
+    encode      -> DTOs to bytes
+    encodeGzip  -> DTOs to bytes + gzip, what goes on the wire with server.compression and Accept-Encoding: gzip
+    decode      -> bytes back to DTOs (client side)
+
+    Bytes on the wire are printed once per trial ("wire bytes ..."), raw and gzipped.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class WireFormatBenchmark {
+
+    @Param({"json", "smile", "cbor"})
+    public String format;
+
+    @Param({"20", "1000", "100000"})
+    public int catalogSize;
+
+    private ObjectWriter writer;
+    private ObjectReader reader;
+
+    private List<ProductResponse> products;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws IOException {
+        JacksonConfig config = new JacksonConfig();
+        ObjectMapper mapper = switch (format) {
+            case "json" -> config.objectMapper();
+            case "smile" -> config.smileMapper();
+            case "cbor" -> config.cborMapper();
+            default -> throw new IllegalArgumentException("Unknown format " + format);
+        };
+        writer = mapper.writer();
+        reader = mapper.readerFor(new TypeReference<List<ProductResponse>>() {});
+
+        products = CatalogFixtures.responses(CatalogFixtures.category(1L, catalogSize));
+        encoded = writer.writeValueAsBytes(products);
+        System.out.printf("%nwire bytes %s x%d: raw=%d gzip=%d%n",
+                format, catalogSize, encoded.length, gzip(encoded).length);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        return writer.writeValueAsBytes(products);
+    }
+
+    @Benchmark
+    public byte[] encodeGzip() throws IOException {
+        return gzip(writer.writeValueAsBytes(products));
+    }
+
+    @Benchmark
+    public List<ProductResponse> decode() throws IOException {
+        return reader.readValue(encoded);
+    }
+
+    // default level, same as Tomcat's compression
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.toByteArray();
+    }
+}
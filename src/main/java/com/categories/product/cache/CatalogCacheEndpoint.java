@@ -0,0 +1,63 @@
+package com.categories.product.cache;
+
+import com.categories.product.security.UserPrincipalCache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/*
+    GET /actuator/catalogcaches -> size, hit ratio, hits, misses and evictions of every in-process cache.
+ */
+@Component
+@Endpoint(id = "catalogcaches")
+public class CatalogCacheEndpoint {
+
+    private final EntityCache entityCache;
+    private final CategoryProductsCache categoryProductsCache;
+    private final UserPrincipalCache userPrincipalCache;
+    private final ResponseBodyCache responseBodyCache;
+
+    public CatalogCacheEndpoint(EntityCache entityCache,
+                                CategoryProductsCache categoryProductsCache,
+                                UserPrincipalCache userPrincipalCache,
+                                ResponseBodyCache responseBodyCache) {
+        this.entityCache = entityCache;
+        this.categoryProductsCache = categoryProductsCache;
+        this.userPrincipalCache = userPrincipalCache;
+        this.responseBodyCache = responseBodyCache;
+    }
+
+    @ReadOperation
+    public Map<String, Map<String, Object>> caches() {
+        Map<String, Map<String, Object>> caches = new LinkedHashMap<>();
+        caches.put("productsById", describe(entityCache.productCount(), entityCache.productStats()));
+        caches.put("categoriesById", describe(entityCache.categoryCount(), entityCache.categoryStats()));
+        caches.put("categoryProducts", describe(
+                categoryProductsCache.size(),
+                categoryProductsCache.pageHitCount(),
+                categoryProductsCache.pageMissCount(),
+                categoryProductsCache.stats().evictionCount()));
+        caches.put("userPrincipals", describe(userPrincipalCache.size(), userPrincipalCache.stats()));
+        caches.put("responses", describe(responseBodyCache.size(), responseBodyCache.stats()));
+        return caches;
+    }
+
+    private static Map<String, Object> describe(long size, CacheStats stats) {
+        return describe(size, stats.hitCount(), stats.missCount(), stats.evictionCount());
+    }
+
+    private static Map<String, Object> describe(long size, long hits, long misses, long evictions) {
+        long requests = hits + misses;
+        Map<String, Object> description = new LinkedHashMap<>();
+        description.put("size", size);
+        description.put("hitRatio", requests == 0 ? 1.0 : (double) hits / requests);
+        description.put("hits", hits);
+        description.put("misses", misses);
+        description.put("evictions", evictions);
+        return description;
+    }
+}
@@ -0,0 +1,58 @@
+package com.categories.product.cache;
+
+import com.categories.product.event.CategoryChangedEvent;
+import com.categories.product.event.ProductChangedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+    Counter bumped by every product / category write (through ProductChangedEvent / CategoryChangedEvent).
+
+    Caches that hold derived data for the whole catalog (ResponseBodyCache) put the value they read
+    BEFORE loading into their key, a write in the meantime makes that entry unreachable instead of stale.
+    An event published inside a transaction bumps again after the transaction completes, so readers
+    that saw the uncommitted state never share a version with readers that see the committed one.
+
+    token() adds the start time of this run, the counter restarts with the application (ETag of GET /api/categories).
+ */
+@Component
+public class CatalogWriteVersion {
+
+    private final AtomicLong version = new AtomicLong();
+    private final String epoch = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+
+    public long current() {
+        return version.get();
+    }
+
+    // "<run>.<version>", never repeats across restarts
+    public String token() {
+        return epoch + "." + version.get();
+    }
+
+    public void bump() {
+        version.incrementAndGet();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    version.incrementAndGet();
+                }
+            });
+        }
+    }
+
+    @EventListener
+    public void onProductChanged(ProductChangedEvent event) {
+        bump();
+    }
+
+    @EventListener
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        bump();
+    }
+}
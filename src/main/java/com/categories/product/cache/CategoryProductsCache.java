@@ -0,0 +1,113 @@
+package com.categories.product.cache;
+
+import com.categories.product.datasource.PrimaryReads;
+import com.categories.product.dto.pageDTO.CursorPageResponse;
+import com.categories.product.dto.productDTO.ProductResponse;
+import com.categories.product.event.CategoryChangedEvent;
+import com.categories.product.event.ProductChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/*
+    Per-category cache of product pages for GET /api/products/category/{categoryId}.
+
+    categoryId -> ( "cursor:size" -> already mapped page )
+
+    Pages are grouped per category so that a write only drops ONE entry (all pages of that
+    category) in O(1), even when a bulk import publishes hundreds of thousands of events.
+    Pages are loaded on the primary (PrimaryReads), a lagging read replica never fills the cache.
+ */
+@Component
+public class CategoryProductsCache {
+
+    private final Cache<Long, ConcurrentMap<String, CursorPageResponse<ProductResponse>>> cache;
+    private final int maxPagesPerCategory;
+    private final PrimaryReads primaryReads;
+
+    // page level hit / miss counters (Caffeine stats only see the per-category entry)
+    private final LongAdder pageHits = new LongAdder();
+    private final LongAdder pageMisses = new LongAdder();
+
+    public CategoryProductsCache(
+            PrimaryReads primaryReads,
+            @Value("${catalog.cache.category-products.max-categories:1000}") long maxCategories,
+            @Value("${catalog.cache.category-products.max-pages-per-category:50}") int maxPagesPerCategory,
+            @Value("${catalog.cache.category-products.ttl:10m}") Duration ttl
+    ) {
+        this.maxPagesPerCategory = maxPagesPerCategory;
+        this.primaryReads = primaryReads;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxCategories)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    public CursorPageResponse<ProductResponse> get(Long categoryId, String cursor, int size,
+                                                   Supplier<CursorPageResponse<ProductResponse>> loader) {
+        ConcurrentMap<String, CursorPageResponse<ProductResponse>> pages =
+                cache.get(categoryId, id -> new ConcurrentHashMap<>());
+        String pageKey = (cursor == null ? "" : cursor) + ":" + size;
+
+        CursorPageResponse<ProductResponse> page = pages.get(pageKey);
+        if (page != null) {
+            pageHits.increment();
+            return page;
+        }
+
+        pageMisses.increment();
+        page = primaryReads.get(loader);
+        // If the category was evicted while we were loading, "pages" is no longer reachable
+        // from the cache, so a stale page can never be served.
+        if (pages.size() < maxPagesPerCategory) {
+            pages.putIfAbsent(pageKey, page);
+        }
+        return page;
+    }
+
+    public void evictCategory(Long categoryId) {
+        if (categoryId == null) return;
+        cache.invalidate(categoryId);
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public long pageHitCount() {
+        return pageHits.sum();
+    }
+
+    public long pageMissCount() {
+        return pageMisses.sum();
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    // 🔁 A product moving between categories invalidates both the old and the new category
+    @EventListener
+    public void onProductChanged(ProductChangedEvent event) {
+        evictCategory(event.getCategoryId());
+        if (!Objects.equals(event.getPreviousCategoryId(), event.getCategoryId())) {
+            evictCategory(event.getPreviousCategoryId());
+        }
+    }
+
+    @EventListener
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        evictCategory(event.getCategoryId());
+    }
+}
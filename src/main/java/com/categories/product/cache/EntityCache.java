@@ -0,0 +1,114 @@
+package com.categories.product.cache;
+
+import com.categories.product.datasource.PrimaryReads;
+import com.categories.product.dto.categoryDTO.CategoryResponse;
+import com.categories.product.dto.productDTO.ProductResponse;
+import com.categories.product.event.CategoryChangedEvent;
+import com.categories.product.event.ProductChangedEvent;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/*
+    Read-through cache for the most read rows: product by id and category summary by id.
+
+    productsById   -> ProductResponse
+    categoriesById -> CategoryResponse summary (id, name, productCount), never with nested products
+
+    Cached DTOs are shared between requests, callers must copy before changing them.
+    Loaders run on the primary (PrimaryReads), a lagging read replica never fills the cache.
+ */
+@Component
+public class EntityCache {
+
+    // async caches only so that loads run outside the map lock (see SingleFlight), values are never computed asynchronously
+    private final AsyncCache<Long, ProductResponse> products;
+    private final AsyncCache<Long, CategoryResponse> categories;
+    private final PrimaryReads primaryReads;
+
+    public EntityCache(
+            PrimaryReads primaryReads,
+            @Value("${catalog.cache.entities.products.max-size:100000}") long maxProducts,
+            @Value("${catalog.cache.entities.categories.max-size:10000}") long maxCategories,
+            @Value("${catalog.cache.entities.ttl:10m}") Duration ttl
+    ) {
+        this.primaryReads = primaryReads;
+        this.products = Caffeine.newBuilder()
+                .maximumSize(maxProducts)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .buildAsync();
+        this.categories = Caffeine.newBuilder()
+                .maximumSize(maxCategories)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .buildAsync();
+    }
+
+    // ================= READ THROUGH =================
+
+    // the loader may throw (e.g. not found), nothing is cached in that case
+    public ProductResponse getProduct(Long id, Function<Long, ProductResponse> loader) {
+        return SingleFlight.get(products, id, key -> primaryReads.get(() -> loader.apply(key)));
+    }
+
+    // Batch read-through: cached ids are served from the cache, all others go to ONE loader call
+    // (loads still in flight are awaited). Ids the loader does not return are missing from the result and not cached.
+    // The loader runs on the caller's thread, outside any map lock.
+    public Map<Long, ProductResponse> getProducts(Collection<Long> ids,
+                                                  Function<Set<Long>, Map<Long, ProductResponse>> loader) {
+        return SingleFlight.join(products.getAll(ids,
+                (missing, executor) -> CompletableFuture.completedFuture(primaryReads.get(() -> loader.apply(Set.copyOf(missing))))));
+    }
+
+    public CategoryResponse getCategory(Long id, Function<Long, CategoryResponse> loader) {
+        return SingleFlight.get(categories, id, key -> primaryReads.get(() -> loader.apply(key)));
+    }
+
+    // ================= INVALIDATION =================
+
+    @EventListener
+    public void onProductChanged(ProductChangedEvent event) {
+        products.synchronous().invalidate(event.getProductId());
+        // productCount of the category summary changed (old and new category when the product moved)
+        categories.synchronous().invalidate(event.getCategoryId());
+        if (event.getPreviousCategoryId() != null) {
+            categories.synchronous().invalidate(event.getPreviousCategoryId());
+        }
+    }
+
+    @EventListener
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        categories.synchronous().invalidate(event.getCategoryId());
+        // deleting a category cascades to its products
+        products.synchronous().invalidateAll(event.getRemovedProductIds());
+    }
+
+    // ================= STATS =================
+
+    public CacheStats productStats() {
+        return products.synchronous().stats();
+    }
+
+    public long productCount() {
+        return products.synchronous().estimatedSize();
+    }
+
+    public CacheStats categoryStats() {
+        return categories.synchronous().stats();
+    }
+
+    public long categoryCount() {
+        return categories.synchronous().estimatedSize();
+    }
+}
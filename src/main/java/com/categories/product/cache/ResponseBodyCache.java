@@ -0,0 +1,86 @@
+package com.categories.product.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/*
+    Already encoded (and, for gzip clients, already compressed) response bodies of the hot anonymous
+    list endpoints, filled and served by ResponseCacheFilter.
+
+    key  -> "<write version> <path>?<canonical parameters> <negotiated media type> <identity|gzip>"
+    Bounded by the total body size, entries of older write versions are never read again and age out.
+ */
+@Component
+public class ResponseBodyCache {
+
+    private final Cache<String, CachedResponse> cache;
+
+    public ResponseBodyCache(
+            @Value("${catalog.cache.responses.max-size:64MB}") DataSize maxSize,
+            @Value("${catalog.cache.responses.ttl:10m}") Duration ttl
+    ) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .weigher((String key, CachedResponse response) -> key.length() + response.getBody().length)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    // null on a miss
+    public CachedResponse get(String key) {
+        return cache.getIfPresent(key);
+    }
+
+    public void put(String key, CachedResponse response) {
+        cache.put(key, response);
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    /*
+        One stored 200 response, shared by every request that hits it, the body is never modified.
+     */
+    public static final class CachedResponse {
+
+        private final String contentType;
+        private final String contentEncoding;   // "gzip" or null
+        private final String etag;              // null when the endpoint sends none
+        private final byte[] body;
+
+        public CachedResponse(String contentType, String contentEncoding, String etag, byte[] body) {
+            this.contentType = contentType;
+            this.contentEncoding = contentEncoding;
+            this.etag = etag;
+            this.body = body;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getContentEncoding() {
+            return contentEncoding;
+        }
+
+        public String getEtag() {
+            return etag;
+        }
+
+        public byte[] getBody() {
+            return body;
+        }
+    }
+}
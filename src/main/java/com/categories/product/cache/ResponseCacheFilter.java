@@ -0,0 +1,234 @@
+package com.categories.product.cache;
+
+import com.categories.product.cache.ResponseBodyCache.CachedResponse;
+import com.categories.product.datasource.ReadRouting;
+import com.categories.product.mapper.CursorMapper;
+import com.categories.product.security.JacksonConfig;
+import com.categories.product.serviceImpl.CategoryServiceImpl;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/*
+    Serves the hot anonymous list reads from ResponseBodyCache:
+
+    GET /api/categories[?include=products&limit=]    -> every representation
+    GET /api/products[?size=]                         -> first page only (no cursor, no ids)
+
+    A hit writes the stored bytes as they are: no query, no mapping, no Jackson, no gzip.
+    A miss runs the controller into a buffer, compresses it for gzip clients (same threshold as
+    server.compression) and stores it under the write version read BEFORE the controller ran.
+
+    The key holds only what the controller looks at, in canonical form: include / limit / size as the
+    services resolve them and the media type negotiated from Accept (the way Spring MVC picks it).
+    Anything else (unknown or repeated parameters, values that do not parse, an Accept that matches
+    no format) bypasses the cache, a client varying them can neither force misses nor evict hot entries.
+    Requests with an Authorization header, NDJSON (reactive) requests and non-200 answers are never cached.
+    Runs after Spring Security, If-None-Match against a stored ETag is answered with 304 like the controllers do.
+    A miss reads the primary (ReadRoutingFilter runs first), a lagging read replica is never stored for everyone.
+ */
+@Component
+public class ResponseCacheFilter extends OncePerRequestFilter {
+
+    private static final String CATEGORIES = "/api/categories";
+    private static final String PRODUCTS = "/api/products";
+    private static final String GZIP = "gzip";
+    private static final List<MediaType> PRODUCIBLE = List.of(MediaType.APPLICATION_JSON,
+            MediaType.valueOf(JacksonConfig.APPLICATION_SMILE_VALUE), MediaType.valueOf(JacksonConfig.APPLICATION_CBOR_VALUE));
+
+    private final ResponseBodyCache responseBodyCache;
+    private final CatalogWriteVersion catalogWriteVersion;
+    private final boolean enabled;
+    private final boolean compression;
+    private final long gzipMinSize;
+
+    public ResponseCacheFilter(
+            ResponseBodyCache responseBodyCache,
+            CatalogWriteVersion catalogWriteVersion,
+            @Value("${catalog.cache.responses.enabled:true}") boolean enabled,
+            @Value("${server.compression.enabled:false}") boolean compression,
+            @Value("${server.compression.min-response-size:2KB}") DataSize gzipMinSize
+    ) {
+        this.responseBodyCache = responseBodyCache;
+        this.catalogWriteVersion = catalogWriteVersion;
+        this.enabled = enabled;
+        this.compression = compression;
+        this.gzipMinSize = gzipMinSize.toBytes();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!enabled || !HttpMethod.GET.matches(request.getMethod())) return true;
+        if (request.getHeader(HttpHeaders.AUTHORIZATION) != null) return true;
+
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        if (accept != null && accept.contains("ndjson")) return true;
+
+        String path = pathOf(request);
+        if (CATEGORIES.equals(path)) return false;
+        return !(PRODUCTS.equals(path) && request.getParameter("cursor") == null && request.getParameter("ids") == null);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        String path = pathOf(request);
+        String representation = CATEGORIES.equals(path) ? categoriesRepresentation(request) : productsRepresentation(request);
+        MediaType mediaType = negotiate(request.getHeader(HttpHeaders.ACCEPT));
+        if (representation == null || mediaType == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        boolean gzip = compression && acceptsGzip(request);
+        String key = catalogWriteVersion.current() + " " + path + "?" + representation
+                + " " + mediaType + " " + (gzip ? GZIP : "identity");
+
+        // Step 1: Hit -> conditional check, then the stored bytes go straight to the socket buffer.
+        CachedResponse cached = responseBodyCache.get(key);
+        if (cached != null) {
+            if (cached.getEtag() != null && new ServletWebRequest(request, response).checkNotModified(cached.getEtag())) {
+                return;
+            }
+            write(response, cached);
+            return;
+        }
+
+        // Step 2: Miss -> let the controller write into a buffer, its reads go to the primary.
+        ReadRouting.usePrimary();
+        ContentCachingResponseWrapper buffered = new ContentCachingResponseWrapper(response);
+        filterChain.doFilter(request, buffered);
+
+        if (buffered.getStatus() != HttpServletResponse.SC_OK || buffered.getContentSize() == 0) {
+            buffered.copyBodyToResponse();
+            return;
+        }
+
+        // Step 3: Encode once for this representation, store, and answer with the stored bytes.
+        byte[] body = buffered.getContentAsByteArray();
+        String contentEncoding = null;
+        if (gzip && body.length >= gzipMinSize) {
+            body = gzip(body);
+            contentEncoding = GZIP;
+        }
+        CachedResponse stored = new CachedResponse(
+                buffered.getContentType(), contentEncoding, buffered.getHeader(HttpHeaders.ETAG), body);
+        responseBodyCache.put(key, stored);
+        write(response, stored);
+    }
+
+    private void write(HttpServletResponse response, CachedResponse cached) throws IOException {
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(cached.getContentType());
+        if (cached.getEtag() != null) {
+            response.setHeader(HttpHeaders.ETAG, cached.getEtag());
+        }
+        if (cached.getContentEncoding() != null) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, cached.getContentEncoding());
+        }
+        response.setHeader(HttpHeaders.VARY, compression ? "Accept, Accept-Encoding" : "Accept");
+        response.setContentLength(cached.getBody().length);
+        response.getOutputStream().write(cached.getBody());
+    }
+
+    // ?include=products&limit= -> "products<limit>" or "summary", null for anything the cache does not know
+    private static String categoriesRepresentation(HttpServletRequest request) {
+        if (!onlyParameters(request, "include", "limit")) return null;
+        String include = request.getParameter("include");
+        if (include == null) return "summary";
+        if (!"products".equalsIgnoreCase(include.trim())) return null;
+        String limit = request.getParameter("limit");
+        Integer parsed = limit == null ? null : parseInt(limit);
+        if (limit != null && parsed == null) return null;
+        return "products" + CategoryServiceImpl.resolveProductLimit(parsed);
+    }
+
+    // first page ?size= -> "size<resolved size>"
+    private static String productsRepresentation(HttpServletRequest request) {
+        if (!onlyParameters(request, "size")) return null;
+        String size = request.getParameter("size");
+        Integer parsed = size == null ? null : parseInt(size);
+        if (size != null && parsed == null) return null;
+        return "size" + CursorMapper.resolvePageSize(parsed);
+    }
+
+    // no other parameter, each at most once
+    private static boolean onlyParameters(HttpServletRequest request, String... names) {
+        for (Map.Entry<String, String[]> parameter : request.getParameterMap().entrySet()) {
+            if (parameter.getValue().length > 1 || !List.of(names).contains(parameter.getKey())) return false;
+        }
+        return true;
+    }
+
+    private static Integer parseInt(String value) {
+        try {
+            return Integer.valueOf(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    // Same pick as Spring MVC: every acceptable x producible pair, most specific first (quality included),
+    // producible types in converter order (JSON first). null -> no format matches (406) or the header does not parse.
+    static MediaType negotiate(String accept) {
+        List<MediaType> acceptable;
+        try {
+            acceptable = new ArrayList<>(accept == null || accept.isBlank()
+                    ? List.of(MediaType.ALL) : MediaType.parseMediaTypes(accept));
+        } catch (InvalidMediaTypeException e) {
+            return null;
+        }
+        MimeTypeUtils.sortBySpecificity(acceptable);
+        List<MediaType> compatible = new ArrayList<>();
+        for (MediaType requested : acceptable) {
+            for (MediaType producible : PRODUCIBLE) {
+                if (requested.isCompatibleWith(producible)) {
+                    MediaType candidate = producible.copyQualityValue(requested);
+                    compatible.add(requested.isLessSpecific(candidate) ? candidate : requested);
+                }
+            }
+        }
+        MimeTypeUtils.sortBySpecificity(compatible);
+        for (MediaType mediaType : compatible) {
+            if (mediaType.isConcrete()) return mediaType.removeQualityValue();
+        }
+        return null;
+    }
+
+    private static boolean acceptsGzip(HttpServletRequest request) {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        return acceptEncoding != null && acceptEncoding.contains(GZIP);
+    }
+
+    private static byte[] gzip(byte[] body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        }
+        return out.toByteArray();
+    }
+
+    private static String pathOf(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+}
@@ -0,0 +1,65 @@
+package com.categories.product.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/*
+    Read-through load that never runs the loader under a lock.
+
+    Cache.get(key, loader) runs the loader inside ConcurrentHashMap.compute, i.e. inside a
+    synchronized block. With a JDBC loader on a virtual thread that pins the carrier thread for
+    the whole query. Here only a placeholder future is published under the map lock, the caller
+    that won the race runs the loader on its own thread, concurrent callers wait on the future
+    (a virtual thread unmounts while it waits).
+
+    - one load per key at a time (single flight)
+    - a failed load is not cached, every waiter sees the same exception
+    - an invalidate() while loading drops the placeholder, the loaded value is returned but not cached
+    - a bulk load (EntityCache.getProducts) completes keys it did not find with null,
+      a caller waiting on such a key runs its own loader (which then decides: value or exception)
+ */
+public final class SingleFlight {
+
+    private SingleFlight() {}
+
+    public static <K, V> V get(AsyncCache<K, V> cache, K key, Function<K, V> loader) {
+        // getIfPresent records the hit / miss statistics
+        CompletableFuture<V> cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return orLoad(join(cached), key, loader);
+        }
+
+        CompletableFuture<V> placeholder = new CompletableFuture<>();
+        CompletableFuture<V> existing = cache.asMap().putIfAbsent(key, placeholder);
+        if (existing != null) {
+            return orLoad(join(existing), key, loader);
+        }
+
+        try {
+            V value = loader.apply(key);
+            placeholder.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            cache.asMap().remove(key, placeholder);
+            placeholder.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private static <K, V> V orLoad(V value, K key, Function<K, V> loader) {
+        return value != null ? value : loader.apply(key);
+    }
+
+    static <V> V join(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) throw runtime;
+            if (e.getCause() instanceof Error error) throw error;
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.categories.product.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.WebUtils;
+
+import java.io.IOException;
+
+/*
+    Makes server.compression.min-response-size apply to the bodies written by the message converters.
+
+    Tomcat only skips gzip for a small body when it knows the length before the first byte goes out,
+    converter output is streamed without a Content-Length, so every JSON / Smile / CBOR answer was compressed,
+    a 60 byte error included. For gzip clients this filter buffers the body and sends it with its length,
+    Tomcat then compresses only what reaches the threshold. Clients without Accept-Encoding: gzip are not buffered.
+
+    Streams are left alone, buffering would hold them back until they end:
+    SSE (/api/events), NDJSON (reactive reads, /api/products/export).
+    Async requests (CompletableFuture controllers) are copied out when the async dispatch completes.
+    Ordered right before Spring Security, so 401 / 403 bodies are covered as well.
+ */
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER - 1)
+public class CompressionThresholdFilter extends OncePerRequestFilter {
+
+    private final boolean compression;
+
+    public CompressionThresholdFilter(@Value("${server.compression.enabled:false}") boolean compression) {
+        this.compression = compression;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!compression) return true;
+
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (acceptEncoding == null || !acceptEncoding.contains("gzip")) return true;
+
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        if (accept != null && (accept.contains("ndjson") || accept.contains("event-stream"))) return true;
+
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return path.startsWith("/api/events") || path.equals("/api/products/export");
+    }
+
+    // the async dispatch writes into the wrapper created by the first one, it has to be copied out there
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        HttpServletResponse responseToUse = isAsyncDispatch(request) ? response : new ContentCachingResponseWrapper(response);
+        filterChain.doFilter(request, responseToUse);
+
+        // an exception skips this, the error dispatch then writes to the unbuffered response
+        if (!isAsyncStarted(request)) {
+            ContentCachingResponseWrapper buffered = WebUtils.getNativeResponse(responseToUse, ContentCachingResponseWrapper.class);
+            if (buffered != null) {
+                // sets Content-Length, Tomcat decides on gzip when this commits the response
+                buffered.copyBodyToResponse();
+            }
+        }
+    }
+}
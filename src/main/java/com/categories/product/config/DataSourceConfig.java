@@ -0,0 +1,95 @@
+package com.categories.product.config;
+
+import com.categories.product.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+    DataSource = LazyConnectionDataSourceProxy -> ReplicaRoutingDataSource -> primary pool + replica pools.
+
+    The primary pool is built like Spring Boot builds it (spring.datasource.* and spring.datasource.hikari.*).
+    Replica pools come from catalog.datasource.replica-urls, without any the router always answers with the primary.
+    The export pool (catalog.export.url) holds the connections of the NDJSON export, only those read through a cursor.
+    The lazy proxy only takes a real connection at the first statement: the router then knows whether the
+    transaction is read-only, and a read-only service call answered from a cache never touches a pool.
+ */
+@Configuration
+public class DataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource routingDataSource(
+            HikariDataSource primaryDataSource,
+            DataSourceProperties properties,
+            MeterRegistry meterRegistry,
+            @Value("${catalog.datasource.replica-urls:}") List<String> replicaUrls,
+            @Value("${catalog.datasource.replica-username:${spring.datasource.username:}}") String username,
+            @Value("${catalog.datasource.replica-password:${spring.datasource.password:}}") String password,
+            @Value("${catalog.datasource.replica-pool-size:0}") int poolSize,
+            @Value("${catalog.datasource.replica-connection-timeout:1s}") Duration connectionTimeout,
+            @Value("${catalog.datasource.replica-check-interval:5s}") Duration checkInterval,
+            @Value("${catalog.export.url:}") String exportUrl,
+            @Value("${catalog.export.pool-size:2}") int exportPoolSize
+    ) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (String url : replicaUrls) {
+            if (url.isBlank()) continue;
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("replica-" + replicas.size());
+            replica.setJdbcUrl(url.trim());
+            replica.setDriverClassName(properties.determineDriverClassName());
+            replica.setUsername(username);
+            replica.setPassword(password);
+            // same size as the primary unless set, reads are most of the traffic (neither set -> Hikari's default)
+            int size = poolSize > 0 ? poolSize : primaryDataSource.getMaximumPoolSize();
+            if (size > 0) replica.setMaximumPoolSize(size);
+            // a replica that is down costs a request at most this long before it falls back to the primary
+            replica.setConnectionTimeout(connectionTimeout.toMillis());
+            // start even when a replica is down, the health check puts it into rotation later
+            replica.setInitializationFailTimeout(-1);
+            replica.setReadOnly(true);
+            replicas.put(replica.getPoolName(), replica);
+        }
+
+        HikariDataSource export = null;
+        if (!exportUrl.isBlank()) {
+            export = new HikariDataSource();
+            export.setPoolName("export");
+            export.setJdbcUrl(exportUrl.trim());
+            export.setDriverClassName(properties.determineDriverClassName());
+            export.setUsername(properties.determineUsername());
+            export.setPassword(properties.determinePassword());
+            // one connection per running export, a further export waits for one
+            export.setMaximumPoolSize(Math.max(1, exportPoolSize));
+            export.setMinimumIdle(0);
+            export.setReadOnly(true);
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, export, checkInterval, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+}
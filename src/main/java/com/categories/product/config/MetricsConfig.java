@@ -0,0 +1,29 @@
+package com.categories.product.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/*
+    Latency metrics per layer, all exported on /actuator/prometheus:
+
+    http.server.requests              -> every controller endpoint (Spring Boot, tags: uri, method, status, outcome)
+    catalog.service                   -> service methods annotated with @Timed (tags: class, method, exception)
+    spring.data.repository.invocations -> every repository call (Spring Boot, tags: repository, method, state)
+    security.jwt.filter               -> JwtRequestFilter stage only (tag: outcome)
+    security.password.hash            -> BCrypt on the password hashing pool (tag: operation), queue depth in executor.queued
+
+    p50 / p99 / p999 and histogram buckets are configured in application.properties.
+ */
+@Configuration
+public class MetricsConfig {
+
+    public static final String SERVICE_TIMER = "catalog.service";
+
+    // makes @Timed work on any Spring bean, not only on controllers
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+}
@@ -0,0 +1,44 @@
+package com.categories.product.controller;
+
+import com.categories.product.services.CatalogEventService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@Tag(
+        name = "Catalog Events REST API",
+        description = "Server-Sent Events stream of product and category changes"
+)
+@RestController
+@RequestMapping("/api/events")
+
+public class CatalogEventController {
+
+    // Service layer dependency (constructor injected)
+
+    private final CatalogEventService catalogEventService;
+
+    public CatalogEventController(CatalogEventService catalogEventService) {
+        this.catalogEventService = catalogEventService;
+    }
+
+    // ================= STREAM CATALOG CHANGES =================
+    @Operation(
+            summary = "Stream catalog changes",
+            description = "Server-Sent Events: product.created/updated/deleted and category.created/updated/deleted, "
+                    + "data is a CatalogChangeMessage. ?categoryId= keeps the changes of one category. "
+                    + "Reconnect with Last-Event-ID to get the changes missed since then, "
+                    + "a \"reset\" event means they are gone (reload the lists), an \"overflow\" event ends a stream that did not keep up"
+    )
+    @ApiResponse(responseCode = "200", description = "Event stream opened")
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(
+            @RequestParam(required = false) Long categoryId,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId
+    ) {
+        return catalogEventService.subscribe(categoryId, lastEventId);
+    }
+}
@@ -1,5 +1,6 @@
 package com.categories.product.controller;
 
+import com.categories.product.datasource.ReadRouting;
 import com.categories.product.dto.categoryDTO.CategoryRequest;
 import com.categories.product.dto.categoryDTO.CategoryResponse;
 import com.categories.product.services.CategoryService;
@@ -8,12 +9,15 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.util.Arrays;
 import java.util.List;
 
 @Tag(
@@ -64,24 +68,58 @@ public class CategoryController {
     // ================= GET CATEGORY BY ID =================
     @Operation(
             summary = "Get Category by ID",
-            description = "REST API to fetch a category using its ID"
+            description = "REST API to fetch a category summary (id, name, productCount), add ?include=products&limit=20 for its first products"
     )
     @ApiResponse(responseCode = "200", description = "Category fetched successfully")
+    @ApiResponse(responseCode = "304", description = "Category unchanged since the ETag sent in If-None-Match")
     @GetMapping("/{id}")
-    public ResponseEntity<CategoryResponse> getCategoryById(@PathVariable Long id) {
-        CategoryResponse response = categoryService.getCategoryById(id);
-        return ResponseEntity.ok(response);
+    public ResponseEntity<CategoryResponse> getCategoryById(
+            @PathVariable Long id,
+            @RequestParam(required = false) String include,
+            @RequestParam(required = false) Integer limit,
+            WebRequest webRequest
+    ) {
+        // 🔁 Cheap version check first, an unchanged category is answered with 304 and no body
+        String etag = categoryService.getCategoryETag(id, includesProducts(include), limit);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+
+        CategoryResponse response = categoryService.getCategoryById(id, includesProducts(include), limit);
+        return ResponseEntity.ok().eTag(etag).varyBy(HttpHeaders.ACCEPT).body(response);
     }
 
     // ================= GET ALL CATEGORIES =================
     @Operation(
             summary = "Get All Categories",
-            description = "REST API to fetch all categories"
+            description = "REST API to fetch all category summaries (id, name, productCount), add ?include=products&limit=20 for nested products"
     )
     @ApiResponse(responseCode = "200", description = "Categories fetched successfully")
+    @ApiResponse(responseCode = "304", description = "Categories unchanged since the ETag sent in If-None-Match")
     @GetMapping
-    public ResponseEntity<List<CategoryResponse>> getAllCategories() {
-        List<CategoryResponse> categories = categoryService.getAllCategories();
-        return ResponseEntity.ok(categories);
+    public ResponseEntity<List<CategoryResponse>> getAllCategories(
+            @RequestParam(required = false) String include,
+            @RequestParam(required = false) Integer limit,
+            WebRequest webRequest
+    ) {
+        // 🔁 Write counter check (no query), an unchanged list is answered with 304 and no body
+        String etag = categoryService.getAllCategoriesETag(includesProducts(include), limit);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+
+        // the tag is this instance's latest write, a lagging replica could pair it with older data
+        ReadRouting.usePrimary();
+
+        List<CategoryResponse> categories = categoryService.getAllCategories(includesProducts(include), limit);
+        return ResponseEntity.ok().eTag(etag).varyBy(HttpHeaders.ACCEPT).body(categories);
+    }
+
+    // ?include=products (comma separated, so ?include=products,foo also works)
+    private static boolean includesProducts(String include) {
+        if (include == null) return false;
+        return Arrays.stream(include.split(","))
+                .map(String::trim)
+                .anyMatch("products"::equalsIgnoreCase);
     }
 }
@@ -1,18 +1,36 @@
 package com.categories.product.controller;
 
+import com.categories.product.dto.pageDTO.CursorPageResponse;
+import com.categories.product.dto.productDTO.BulkProductResponse;
+import com.categories.product.dto.productDTO.PriceRangeResponse;
+import com.categories.product.dto.productDTO.ProductBatchResponse;
+import com.categories.product.dto.productDTO.ProductIdsRequest;
 import com.categories.product.dto.productDTO.ProductRequest;
 import com.categories.product.dto.productDTO.ProductResponse;
+import com.categories.product.dto.productDTO.ProductSearchResponse;
+import com.categories.product.dto.syncDTO.CatalogChangesResponse;
+import com.categories.product.mapper.ETagMapper;
+import com.categories.product.services.CatalogSyncService;
+import com.categories.product.services.ProductBulkService;
+import com.categories.product.services.ProductExportService;
+import com.categories.product.services.ProductLookupService;
 import com.categories.product.services.ProductService;
+import com.categories.product.services.ProductWriteBehindService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
+import java.util.zip.GZIPOutputStream;
 
 @Tag(
         name = "Product REST API",
@@ -25,9 +43,24 @@ public class ProductController {
 
     // Service layer dependency
     private final ProductService productService;
+    private final ProductBulkService productBulkService;
+    private final ProductExportService productExportService;
+    private final ProductLookupService productLookupService;
+    private final ProductWriteBehindService productWriteBehindService;
+    private final CatalogSyncService catalogSyncService;
 
-    public ProductController(ProductService productService) {
+    public ProductController(ProductService productService,
+                             ProductBulkService productBulkService,
+                             ProductExportService productExportService,
+                             ProductLookupService productLookupService,
+                             ProductWriteBehindService productWriteBehindService,
+                             CatalogSyncService catalogSyncService) {
         this.productService = productService;
+        this.productBulkService = productBulkService;
+        this.productExportService = productExportService;
+        this.productLookupService = productLookupService;
+        this.productWriteBehindService = productWriteBehindService;
+        this.catalogSyncService = catalogSyncService;
     }
 
     // ================= CREATE PRODUCT =================
@@ -45,18 +78,42 @@ public class ProductController {
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
+    // ================= BULK CREATE PRODUCTS =================
+    @Operation(
+            summary = "Bulk Create Products",
+            description = "REST API to create many products in one call, returns one result per item (CREATED / REJECTED / FAILED)"
+    )
+    @ApiResponse(responseCode = "200", description = "Bulk request processed, see per item results")
+    @PreAuthorize("hasAuthority('ROLE_SELLER')")
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkProductResponse> createProducts(
+            @RequestBody List<ProductRequest> productRequests
+    ) {
+        BulkProductResponse response = productBulkService.createProducts(productRequests);
+        return ResponseEntity.ok(response);
+    }
+
     // ================= UPDATE PRODUCT =================
     @Operation(
             summary = "Update Product",
-            description = "REST API to update an existing product"
+            description = "REST API to update an existing product. With \"Prefer: respond-async\" (and catalog.write-behind.enabled) "
+                    + "the update is buffered, coalesced with later updates of the same product and written within a short interval"
     )
     @ApiResponse(responseCode = "200", description = "Product updated successfully")
+    @ApiResponse(responseCode = "202", description = "Update accepted, written on the next flush")
+    @ApiResponse(responseCode = "503", description = "Update buffer full, retry after the Retry-After seconds")
     @PreAuthorize("hasAuthority('ROLE_SELLER')")
     @PutMapping("/{id}")
     public ResponseEntity<ProductResponse> updateProduct(
             @PathVariable Integer id,
-            @RequestBody ProductRequest productRequest
+            @RequestBody ProductRequest productRequest,
+            @RequestHeader(value = "Prefer", required = false) String prefer
     ) {
+        // ⏳ write-behind: last write wins, readers see the change after the next flush
+        if (prefer != null && prefer.contains("respond-async") && productWriteBehindService.isEnabled()) {
+            productWriteBehindService.enqueueUpdate(id.longValue(), productRequest);
+            return ResponseEntity.accepted().header("Preference-Applied", "respond-async").build();
+        }
         ProductResponse response = productService.updateProduct(id, productRequest);
         return ResponseEntity.ok(response);
     }
@@ -80,35 +137,153 @@ public class ProductController {
             description = "REST API to fetch a product using its ID"
     )
     @ApiResponse(responseCode = "200", description = "Product fetched successfully")
+    @ApiResponse(responseCode = "304", description = "Product unchanged since the ETag sent in If-None-Match")
     @GetMapping("/{id}")
-    public ResponseEntity<ProductResponse> getProductById(@PathVariable Integer id) {
+    public ResponseEntity<ProductResponse> getProductById(@PathVariable Integer id, WebRequest webRequest) {
         ProductResponse response = productService.getProductById(id);
-        return ResponseEntity.ok(response);
+
+        // 🔁 ETag = id + row version, an unchanged product is answered with 304 and is never serialized
+        String etag = ETagMapper.forProduct(response);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).varyBy(HttpHeaders.ACCEPT).body(response);
     }
 
-    // ================= GET ALL PRODUCTS =================
+    // ================= GET ALL PRODUCTS (PAGINATED) =================
     @Operation(
             summary = "Get All Products",
-            description = "REST API to fetch all products"
+            description = "REST API to fetch products page by page, pass nextCursor from the previous page as ?cursor="
     )
     @ApiResponse(responseCode = "200", description = "Products fetched successfully")
     @GetMapping
-    public ResponseEntity<List<ProductResponse>> getAllProducts() {
-        List<ProductResponse> products = productService.getAllProducts();
+    public ResponseEntity<CursorPageResponse<ProductResponse>> getAllProducts(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size
+    ) {
+        CursorPageResponse<ProductResponse> products = productService.getAllProducts(cursor, size);
+        return ResponseEntity.ok(products);
+    }
+
+    // ================= GET PRODUCTS BY IDS (MULTI GET) =================
+    @Operation(
+            summary = "Get Products by IDs",
+            description = "REST API to fetch many products in one call, ?ids=1,2,3 (or repeated ?ids=), results in request order plus missingIds"
+    )
+    @ApiResponse(responseCode = "200", description = "Products fetched successfully")
+    @ApiResponse(responseCode = "413", description = "Too many ids")
+    @GetMapping(params = "ids")
+    public ResponseEntity<ProductBatchResponse> getProductsByIds(@RequestParam List<Long> ids) {
+        ProductBatchResponse products = productLookupService.getProductsByIds(ids);
+        return ResponseEntity.ok(products);
+    }
+
+    @Operation(
+            summary = "Lookup Products by IDs",
+            description = "Same as GET /api/products?ids= with the ids in the body, for lists too long for a URL"
+    )
+    @ApiResponse(responseCode = "200", description = "Products fetched successfully")
+    @ApiResponse(responseCode = "413", description = "Too many ids")
+    @PostMapping("/lookup")
+    public ResponseEntity<ProductBatchResponse> lookupProducts(@RequestBody ProductIdsRequest request) {
+        ProductBatchResponse products = productLookupService.getProductsByIds(request.getIds());
+        return ResponseEntity.ok(products);
+    }
+
+    // ================= SEARCH PRODUCTS =================
+    @Operation(
+            summary = "Search Products",
+            description = "REST API to full text search product name and description, best match first, pages start at 0"
+    )
+    @ApiResponse(responseCode = "200", description = "Search results fetched successfully")
+    @GetMapping("/search")
+    public ResponseEntity<ProductSearchResponse> searchProducts(
+            @RequestParam("q") String query,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size
+    ) {
+        ProductSearchResponse results = productService.searchProducts(query, page, size);
+        return ResponseEntity.ok(results);
+    }
+
+    // ================= GET PRODUCTS BY PRICE RANGE =================
+    @Operation(
+            summary = "Get Products by Price Range",
+            description = "REST API to fetch products with min <= price <= max (optionally in one category), cheapest first, pages start at 0"
+    )
+    @ApiResponse(responseCode = "200", description = "Products fetched successfully")
+    @ApiResponse(responseCode = "400", description = "min is greater than max")
+    @GetMapping("/price-range")
+    public ResponseEntity<PriceRangeResponse> getProductsByPriceRange(
+            @RequestParam(required = false) Double min,
+            @RequestParam(required = false) Double max,
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size
+    ) {
+        PriceRangeResponse products = productService.getProductsByPriceRange(min, max, categoryId, page, size);
         return ResponseEntity.ok(products);
     }
 
     // ================= GET PRODUCTS BY CATEGORY =================
     @Operation(
             summary = "Get Products by Category",
-            description = "REST API to fetch products by category ID"
+            description = "REST API to fetch products by category ID page by page, pass nextCursor from the previous page as ?cursor="
     )
     @ApiResponse(responseCode = "200", description = "Products fetched successfully")
     @GetMapping("/category/{categoryId}")
-    public ResponseEntity<List<ProductResponse>> getProductsByCategory(
-            @PathVariable Long categoryId
+    public ResponseEntity<CursorPageResponse<ProductResponse>> getProductsByCategory(
+            @PathVariable Long categoryId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size
     ) {
-        List<ProductResponse> products = productService.getProductsByCategory(categoryId);
+        CursorPageResponse<ProductResponse> products = productService.getProductsByCategory(categoryId, cursor, size);
         return ResponseEntity.ok(products);
     }
+
+    // ================= GET CATALOG CHANGES (DELTA SYNC) =================
+    @Operation(
+            summary = "Get Catalog Changes",
+            description = "REST API for mirrors: products and categories changed or deleted after the change sequence ?since= (0 = everything), "
+                    + "oldest first, current state only. Pass nextSince back as ?since=, hasMore means ask again right away"
+    )
+    @ApiResponse(responseCode = "200", description = "Changes fetched successfully")
+    @GetMapping("/changes")
+    public ResponseEntity<CatalogChangesResponse> getChanges(
+            @RequestParam(required = false) Long since,
+            @RequestParam(required = false) Integer size
+    ) {
+        CatalogChangesResponse changes = catalogSyncService.getChanges(since, size);
+        return ResponseEntity.ok(changes);
+    }
+
+    // ================= EXPORT ALL PRODUCTS (NDJSON STREAM) =================
+    @Operation(
+            summary = "Export Products",
+            description = "REST API to stream the whole catalog as newline delimited JSON, add ?gzip=true for a gzip compressed stream"
+    )
+    @ApiResponse(responseCode = "200", description = "Products streamed successfully")
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportProducts(
+            @RequestParam(defaultValue = "false") boolean gzip
+    ) {
+        // The body is written after this method returns, row by row from a database cursor,
+        // so nothing but the current row is ever held in memory.
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                GZIPOutputStream gzipOut = new GZIPOutputStream(out, 64 * 1024, true);
+                productExportService.exportProducts(gzipOut);
+                gzipOut.finish();
+            } else {
+                productExportService.exportProducts(out);
+            }
+        };
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
 }
@@ -0,0 +1,107 @@
+package com.categories.product.controller;
+
+import com.categories.product.dto.categoryDTO.CategoryResponse;
+import com.categories.product.dto.productDTO.ProductResponse;
+import com.categories.product.services.ReactiveCatalogService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/*
+    Reactive read path, only registered with catalog.reactive.enabled=true.
+
+    Same GET paths as ProductController / CategoryController, selected with "Accept: application/x-ndjson".
+    Requests with any other Accept header keep going to the blocking controllers.
+    Handlers return Flux / Mono: the servlet thread is released while R2DBC runs the query,
+    and every element is written (and flushed) as one JSON line as soon as its row arrives.
+ */
+@Tag(
+        name = "Reactive Catalog REST API",
+        description = "Non-blocking streamed reads of products and categories (Accept: application/x-ndjson)"
+)
+@RestController
+@RequestMapping(value = "/api", produces = MediaType.APPLICATION_NDJSON_VALUE)
+@ConditionalOnProperty(name = "catalog.reactive.enabled", havingValue = "true")
+public class ReactiveCatalogController {
+
+    private final ReactiveCatalogService reactiveCatalogService;
+
+    public ReactiveCatalogController(ReactiveCatalogService reactiveCatalogService) {
+        this.reactiveCatalogService = reactiveCatalogService;
+    }
+
+    // ================= STREAM ALL PRODUCTS =================
+    @Operation(
+            summary = "Stream Products",
+            description = "Streams products ordered by id, one JSON object per line. ?cursor= starts after a page cursor, ?size= stops after that many products"
+    )
+    @ApiResponse(responseCode = "200", description = "Products streamed successfully")
+    @GetMapping("/products")
+    public Flux<ProductResponse> streamProducts(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size
+    ) {
+        return reactiveCatalogService.getAllProducts(cursor, size);
+    }
+
+    // ================= GET PRODUCT BY ID =================
+    @Operation(
+            summary = "Get Product by ID (reactive)",
+            description = "Fetches one product without blocking a request thread"
+    )
+    @ApiResponse(responseCode = "200", description = "Product fetched successfully")
+    @ApiResponse(responseCode = "404", description = "Product not found")
+    @GetMapping("/products/{id}")
+    public Mono<Flux<ProductResponse>> getProductById(@PathVariable Long id) {
+        // one line stream, resolving the Mono first keeps the 404 possible before the response is committed
+        return reactiveCatalogService.getProductById(id).map(Flux::just);
+    }
+
+    // ================= STREAM PRODUCTS BY CATEGORY =================
+    @Operation(
+            summary = "Stream Products by Category",
+            description = "Streams the products of one category ordered by id, ?cursor= and ?size= as for /api/products"
+    )
+    @ApiResponse(responseCode = "200", description = "Products streamed successfully")
+    @ApiResponse(responseCode = "404", description = "Category not found")
+    @GetMapping("/products/category/{categoryId}")
+    public Mono<Flux<ProductResponse>> streamProductsByCategory(
+            @PathVariable Long categoryId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size
+    ) {
+        return reactiveCatalogService.getProductsByCategory(categoryId, cursor, size);
+    }
+
+    // ================= STREAM ALL CATEGORIES =================
+    @Operation(
+            summary = "Stream Categories",
+            description = "Streams all category summaries (id, name, productCount), one JSON object per line"
+    )
+    @ApiResponse(responseCode = "200", description = "Categories streamed successfully")
+    @GetMapping("/categories")
+    public Flux<CategoryResponse> streamCategories() {
+        return reactiveCatalogService.getAllCategories();
+    }
+
+    // ================= GET CATEGORY BY ID =================
+    @Operation(
+            summary = "Get Category by ID (reactive)",
+            description = "Fetches one category summary (id, name, productCount) without blocking a request thread"
+    )
+    @ApiResponse(responseCode = "200", description = "Category fetched successfully")
+    @ApiResponse(responseCode = "404", description = "Category not found")
+    @GetMapping("/categories/{id}")
+    public Mono<Flux<CategoryResponse>> getCategoryById(@PathVariable Long id) {
+        return reactiveCatalogService.getCategoryById(id).map(Flux::just);
+    }
+}
@@ -0,0 +1,35 @@
+package com.categories.product.datasource;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.Supplier;
+
+/*
+    Reads whose result is shared beyond the current request must come from the primary:
+    cache loaders (EntityCache, CategoryProductsCache) and the change feed (its upper bound is the primary's commit horizon).
+    A row read from a lagging replica would otherwise be cached for every caller until the next write or the TTL.
+
+    With replicas: own read-only transaction (REQUIRES_NEW, the caller's transaction may already hold a replica
+    connection), routed to the primary. Without replicas: runs as it is, inside the caller's transaction.
+ */
+@Component
+public class PrimaryReads {
+
+    private final boolean replicas;
+    private final TransactionTemplate transactionTemplate;
+
+    public PrimaryReads(ReplicaRoutingDataSource routingDataSource, PlatformTransactionManager transactionManager) {
+        this.replicas = routingDataSource.hasReplicas();
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    public <T> T get(Supplier<T> read) {
+        if (!replicas) return read.get();
+        return ReadRouting.onPrimary(() -> transactionTemplate.execute(status -> read.get()));
+    }
+}
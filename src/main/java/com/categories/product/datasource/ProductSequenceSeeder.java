@@ -0,0 +1,80 @@
+package com.categories.product.datasource;
+
+import com.categories.product.entities.Product;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/*
+    Product ids come from the pooled product_seq, before the bulk import they came from AUTO_INCREMENT.
+    On a database that already has products ddl-auto creates product_seq at 1, so every INSERT would collide
+    with an existing id. Before the application takes traffic the sequence is raised so that the next block
+    Hibernate reserves (value - allocationSize + 1 .. value) starts above MAX(products.id).
+    A no-op on an empty catalog and once the sequence is ahead.
+
+    MySQL has no sequences, Hibernate keeps product_seq as a one row table (next_val). Other databases
+    (H2 of the embedded profile) get a real sequence, raised with ALTER SEQUENCE ... RESTART WITH.
+    If that fails the application does not start: inserts would fail anyway.
+ */
+@Component
+public class ProductSequenceSeeder implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductSequenceSeeder.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Dialect dialect;
+
+    public ProductSequenceSeeder(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dialect = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect();
+    }
+
+    // after the schema update, before the web server starts
+    @Override
+    public void afterSingletonsInstantiated() {
+        Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM products", Long.class);
+        if (maxId == null) return;
+
+        long required = maxId + Product.ID_ALLOCATION_SIZE;
+        try {
+            if (dialect.getSequenceSupport().supportsSequences()) {
+                raiseSequence(required);
+            } else {
+                raiseTable(required);
+            }
+        } catch (DataAccessException e) {
+            throw new IllegalStateException("Could not move " + Product.ID_SEQUENCE + " above MAX(products.id) = "
+                    + maxId + ", set it to at least " + required + " by hand", e);
+        }
+    }
+
+    private void raiseTable(long required) {
+        List<Long> current = jdbcTemplate.queryForList("SELECT next_val FROM " + Product.ID_SEQUENCE, Long.class);
+        if (current.isEmpty()) {
+            jdbcTemplate.update("INSERT INTO " + Product.ID_SEQUENCE + " (next_val) VALUES (?)", required);
+        } else if (current.get(0) < required) {
+            // conditional: another instance starting at the same time may already have raised it
+            jdbcTemplate.update("UPDATE " + Product.ID_SEQUENCE + " SET next_val = ? WHERE next_val < ?", required, required);
+        } else {
+            return;
+        }
+        log.info("Raised {} to {}", Product.ID_SEQUENCE, required);
+    }
+
+    private void raiseSequence(long required) {
+        // reading the next value uses it up, at most a gap in the ids
+        String nextValue = dialect.getSequenceSupport().getSequenceNextValString(Product.ID_SEQUENCE);
+        Long next = jdbcTemplate.queryForObject(nextValue, Long.class);
+        if (next != null && next >= required) return;
+        jdbcTemplate.execute("ALTER SEQUENCE " + Product.ID_SEQUENCE + " RESTART WITH " + required);
+        log.info("Raised {} to {}", Product.ID_SEQUENCE, required);
+    }
+}
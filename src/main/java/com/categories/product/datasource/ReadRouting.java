@@ -0,0 +1,87 @@
+package com.categories.product.datasource;
+
+import java.util.function.Supplier;
+
+/*
+    Per request routing state, opened and closed by ReadRoutingFilter on the request thread.
+
+    Outside a request (schedulers, startup index builds, write-behind flushes, async exports) there is no
+    scope and ReplicaRoutingDataSource always answers with the primary: background work never reads
+    a replica that is behind. An export marks its thread (beginExport / endExport), its connection then
+    comes from the export pool, the only one whose connections read through a server-side cursor.
+ */
+public final class ReadRouting {
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> EXPORT = new ThreadLocal<>();
+
+    private ReadRouting() {}
+
+    // primary = true -> every read of this request goes to the primary (read-your-writes)
+    public static void begin(boolean primary) {
+        CURRENT.set(new Scope(primary));
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    // the rest of this request reads the primary (a response that is about to be cached for everyone)
+    public static void usePrimary() {
+        Scope scope = CURRENT.get();
+        if (scope != null) scope.primary = true;
+    }
+
+    // runs one read on the primary and restores the request's routing afterwards (see PrimaryReads)
+    static <T> T onPrimary(Supplier<T> read) {
+        Scope previous = CURRENT.get();
+        if (previous == null) return read.get();
+        CURRENT.set(new Scope(true));
+        try {
+            return read.get();
+        } finally {
+            CURRENT.set(previous);
+        }
+    }
+
+    // connections taken by this thread until endExport() come from the export pool (when there is one)
+    public static void beginExport() {
+        EXPORT.set(Boolean.TRUE);
+    }
+
+    public static void endExport() {
+        EXPORT.remove();
+    }
+
+    static boolean isExport() {
+        return EXPORT.get() != null;
+    }
+
+    static Scope current() {
+        return CURRENT.get();
+    }
+
+    static final class Scope {
+
+        private boolean primary;
+        // replica picked by the first read-only transaction, later ones in the same request stay on it
+        // (an ETag and the body it describes come from the same database)
+        private ReplicaRoutingDataSource.Replica replica;
+
+        private Scope(boolean primary) {
+            this.primary = primary;
+        }
+
+        boolean isPrimary() {
+            return primary;
+        }
+
+        ReplicaRoutingDataSource.Replica getReplica() {
+            return replica;
+        }
+
+        void setReplica(ReplicaRoutingDataSource.Replica replica) {
+            this.replica = replica;
+        }
+    }
+}
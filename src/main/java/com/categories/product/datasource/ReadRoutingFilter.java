@@ -0,0 +1,75 @@
+package com.categories.product.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/*
+    Opens the ReadRouting scope of every request (runs after Spring Security, the caller is known).
+
+    Read-your-writes: a caller that sent a mutation (anything but GET / HEAD / OPTIONS) reads from the primary
+    for catalog.datasource.read-your-writes afterwards, so its next GET sees its own change even when the
+    replicas are behind. Callers are told apart by their authenticated name (every write needs a token),
+    anonymous reads always may use a replica. 0 turns it off.
+    Ordered before ResponseCacheFilter, which sends the reads of a response it is about to store to the primary.
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+public class ReadRoutingFilter extends OncePerRequestFilter {
+
+    // caller name -> wrote within the window
+    private final Cache<String, Boolean> recentWriters;
+
+    public ReadRoutingFilter(
+            @Value("${catalog.datasource.read-your-writes:2s}") Duration readYourWrites,
+            @Value("${catalog.datasource.read-your-writes-max-callers:100000}") long maxCallers
+    ) {
+        this.recentWriters = readYourWrites.isZero() ? null : Caffeine.newBuilder()
+                .maximumSize(maxCallers)
+                .expireAfterWrite(readYourWrites)
+                .build();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        String caller = recentWriters == null ? null : callerOf(SecurityContextHolder.getContext().getAuthentication());
+        boolean write = !(HttpMethod.GET.matches(request.getMethod()) || HttpMethod.HEAD.matches(request.getMethod())
+                || HttpMethod.OPTIONS.matches(request.getMethod()));
+
+        ReadRouting.begin(caller != null && (write || recentWriters.getIfPresent(caller) != null));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReadRouting.end();
+            // after the write committed, the window starts now
+            if (write && caller != null) {
+                recentWriters.put(caller, Boolean.TRUE);
+            }
+        }
+    }
+
+    private static String callerOf(Authentication authentication) {
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
@@ -0,0 +1,200 @@
+package com.categories.product.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+    Primary + read replicas behind one DataSource (wrapped in a LazyConnectionDataSourceProxy by DataSourceConfig,
+    so the choice is made at the first statement, when the transaction is already known to be read-only).
+
+    replica  -> read-only transaction, inside a request (ReadRouting scope), caller not in its read-your-writes window
+    export   -> the NDJSON export (ReadRouting.beginExport), when an export pool is configured
+    primary  -> everything else, and whenever no replica is healthy
+
+    Replicas take turns (round robin), a request stays on the replica it got first. A replica whose connection
+    fails is taken out right away (the read goes to the primary instead), a background check every
+    check-interval takes it out / puts it back with Connection.isValid.
+
+    Metrics (on /actuator/prometheus):
+    catalog.datasource.connections{target}    -> connections handed out, primary / replica / export
+    catalog.datasource.fallbacks              -> replica reads sent to the primary because the replica failed
+    catalog.datasource.replicas.healthy       -> replicas currently in rotation
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+    private static final String PRIMARY = "primary";
+    private static final String EXPORT = "export";
+
+    private final DataSource primary;
+    // null -> exports use the primary
+    private final DataSource export;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final AtomicInteger next = new AtomicInteger();
+    private final ScheduledExecutorService healthCheck;
+
+    private final Counter primaryConnections;
+    private final Counter replicaConnections;
+    private final Counter exportConnections;
+    private final Counter fallbacks;
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicaDataSources, DataSource export,
+                                    Duration checkInterval, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.export = export;
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        if (export != null) targets.put(EXPORT, export);
+        replicaDataSources.forEach((name, dataSource) -> {
+            replicas.add(new Replica(name, dataSource));
+            targets.put(name, dataSource);
+        });
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+
+        this.primaryConnections = Counter.builder("catalog.datasource.connections").tag("target", "primary")
+                .description("Connections handed out by the routing datasource")
+                .register(meterRegistry);
+        this.replicaConnections = Counter.builder("catalog.datasource.connections").tag("target", "replica")
+                .description("Connections handed out by the routing datasource")
+                .register(meterRegistry);
+        this.exportConnections = Counter.builder("catalog.datasource.connections").tag("target", "export")
+                .description("Connections handed out by the routing datasource")
+                .register(meterRegistry);
+        this.fallbacks = Counter.builder("catalog.datasource.fallbacks")
+                .description("Replica reads sent to the primary because the replica connection failed")
+                .register(meterRegistry);
+        Gauge.builder("catalog.datasource.replicas.healthy", replicas, list -> list.stream().filter(r -> r.healthy).count())
+                .description("Read replicas currently in rotation")
+                .register(meterRegistry);
+
+        if (replicas.isEmpty()) {
+            this.healthCheck = null;
+        } else {
+            this.healthCheck = Executors.newSingleThreadScheduledExecutor(task -> {
+                Thread thread = new Thread(task, "replica-health-check");
+                thread.setDaemon(true);
+                return thread;
+            });
+            long millis = Math.max(1, checkInterval.toMillis());
+            healthCheck.scheduleWithFixedDelay(this::checkReplicas, millis, millis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public boolean hasReplicas() {
+        return !replicas.isEmpty();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (export != null && ReadRouting.isExport()) return EXPORT;
+        Replica replica = chooseReplica();
+        return replica == null ? PRIMARY : replica.name;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (export != null && ReadRouting.isExport()) {
+            exportConnections.increment();
+            return export.getConnection();
+        }
+        Replica replica = chooseReplica();
+        if (replica == null) {
+            primaryConnections.increment();
+            return primary.getConnection();
+        }
+        try {
+            Connection connection = replica.dataSource.getConnection();
+            replicaConnections.increment();
+            return connection;
+        } catch (SQLException e) {
+            // out of rotation until the health check sees it again, this read goes to the primary
+            replica.healthy = false;
+            fallbacks.increment();
+            primaryConnections.increment();
+            return primary.getConnection();
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        // pools are configured with their own credentials
+        return getConnection();
+    }
+
+    private Replica chooseReplica() {
+        if (replicas.isEmpty() || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) return null;
+        ReadRouting.Scope scope = ReadRouting.current();
+        if (scope == null || scope.isPrimary()) return null;
+
+        Replica pinned = scope.getReplica();
+        if (pinned != null && pinned.healthy) return pinned;
+
+        int start = next.getAndIncrement();
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get(Math.floorMod(start + i, replicas.size()));
+            if (replica.healthy) {
+                scope.setReplica(replica);
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    private void checkReplicas() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection()) {
+                replica.healthy = connection.isValid(1);
+            } catch (SQLException | RuntimeException e) {
+                replica.healthy = false;
+            }
+        }
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        if (healthCheck != null) {
+            healthCheck.shutdownNow();
+        }
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof Closeable closeable) {
+                closeable.close();
+            }
+        }
+        if (export instanceof Closeable closeable) {
+            closeable.close();
+        }
+    }
+
+    static final class Replica {
+
+        private final String name;
+        private final DataSource dataSource;
+        private volatile boolean healthy = true;
+
+        private Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.categories.product.dto.categoryDTO;
 
 import com.categories.product.dto.productDTO.ProductResponse;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -21,6 +22,11 @@ public class CategoryResponse {
     private Long id;
     private String name;
 
+    // number of products in this category, filled by the summary query
+    private Long productCount;
+
+    // only present when the caller asked for ?include=products (bounded by ?limit=)
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private List<ProductResponse> products = new ArrayList<>();
 
     public CategoryResponse(Long id, String name, List<ProductResponse> products) {
@@ -30,6 +36,14 @@ public class CategoryResponse {
         this.products = products;
     }
 
+    // used by the JPQL constructor expression in CategoryRepository (summary mode, no products)
+    public CategoryResponse(Long id, String name, Long productCount) {
+        this.id = id;
+        this.name = name;
+        this.productCount = productCount;
+        this.products = null;
+    }
+
     public CategoryResponse() {}
 
     public Long getId() {
@@ -48,6 +62,14 @@ public class CategoryResponse {
         this.name = name;
     }
 
+    public Long getProductCount() {
+        return productCount;
+    }
+
+    public void setProductCount(Long productCount) {
+        this.productCount = productCount;
+    }
+
     public List<ProductResponse> getProducts() {
         return products;
     }
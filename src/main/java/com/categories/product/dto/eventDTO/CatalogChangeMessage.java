@@ -0,0 +1,106 @@
+package com.categories.product.dto.eventDTO;
+
+import com.categories.product.dto.productDTO.ProductResponse;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Schema(
+
+        name = "CatalogChangeMessage",
+        description = "one change of the catalog as pushed on GET /api/events , seq counts the changes since the application started, the SSE event id (Last-Event-ID) is <epoch>-<seq>"
+
+)
+public class CatalogChangeMessage {
+
+    // position in the stream, increases by one per change
+    private long seq;
+
+    // product.created / product.updated / product.deleted / category.created / category.updated / category.deleted
+    private String type;
+
+    // null for category changes
+    private Long productId;
+
+    private Long categoryId;
+
+    // category before a product update (same as categoryId when it did not move)
+    private Long previousCategoryId;
+
+    // state after a product create / update, null otherwise
+    private ProductResponse product;
+
+    // products removed together with a deleted category, empty otherwise
+    private List<Long> removedProductIds = List.of();
+
+    public CatalogChangeMessage(long seq, String type, Long productId, Long categoryId, Long previousCategoryId,
+                                ProductResponse product, List<Long> removedProductIds) {
+        this.seq = seq;
+        this.type = type;
+        this.productId = productId;
+        this.categoryId = categoryId;
+        this.previousCategoryId = previousCategoryId;
+        this.product = product;
+        this.removedProductIds = removedProductIds;
+    }
+
+    public CatalogChangeMessage() {}
+
+    public long getSeq() {
+        return seq;
+    }
+
+    public void setSeq(long seq) {
+        this.seq = seq;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public void setProductId(Long productId) {
+        this.productId = productId;
+    }
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public void setCategoryId(Long categoryId) {
+        this.categoryId = categoryId;
+    }
+
+    public Long getPreviousCategoryId() {
+        return previousCategoryId;
+    }
+
+    public void setPreviousCategoryId(Long previousCategoryId) {
+        this.previousCategoryId = previousCategoryId;
+    }
+
+    public ProductResponse getProduct() {
+        return product;
+    }
+
+    public void setProduct(ProductResponse product) {
+        this.product = product;
+    }
+
+    public List<Long> getRemovedProductIds() {
+        return removedProductIds;
+    }
+
+    public void setRemovedProductIds(List<Long> removedProductIds) {
+        this.removedProductIds = removedProductIds;
+    }
+}
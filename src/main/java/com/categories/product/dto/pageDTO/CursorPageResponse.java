@@ -0,0 +1,66 @@
+package com.categories.product.dto.pageDTO;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Schema(
+
+        name = "CursorPageResponse",
+        description = "one page of a keyset paginated listing , pass nextCursor back as ?cursor= to fetch the following page"
+
+)
+public class CursorPageResponse<T> {
+
+    private List<T> items = new ArrayList<>();
+
+    // opaque cursor of the last item on this page, null when there is no next page
+    private String nextCursor;
+
+    private int size;
+    private boolean hasMore;
+
+    public CursorPageResponse(List<T> items, String nextCursor, int size, boolean hasMore) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.size = size;
+        this.hasMore = hasMore;
+    }
+
+    public CursorPageResponse() {}
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public void setItems(List<T> items) {
+        this.items = items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+}
@@ -0,0 +1,79 @@
+package com.categories.product.dto.productDTO;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Schema(
+
+        name = "BulkProductResponse",
+        description = "summary and per item results of a bulk product create request"
+
+)
+public class BulkProductResponse {
+
+    private int requested;
+    private int created;
+    private int rejected;
+    private int failed;
+
+    // one entry per request item, in request order
+    private List<BulkProductResult> results = new ArrayList<>();
+
+    public BulkProductResponse(List<BulkProductResult> results) {
+        this.results = results;
+        this.requested = results.size();
+        for (BulkProductResult result : results) {
+            switch (result.getStatus()) {
+                case CREATED -> created++;
+                case REJECTED -> rejected++;
+                case FAILED -> failed++;
+            }
+        }
+    }
+
+    public BulkProductResponse() {}
+
+    public int getRequested() {
+        return requested;
+    }
+
+    public void setRequested(int requested) {
+        this.requested = requested;
+    }
+
+    public int getCreated() {
+        return created;
+    }
+
+    public void setCreated(int created) {
+        this.created = created;
+    }
+
+    public int getRejected() {
+        return rejected;
+    }
+
+    public void setRejected(int rejected) {
+        this.rejected = rejected;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+
+    public List<BulkProductResult> getResults() {
+        return results;
+    }
+
+    public void setResults(List<BulkProductResult> results) {
+        this.results = results;
+    }
+}
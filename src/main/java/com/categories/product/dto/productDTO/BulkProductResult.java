@@ -0,0 +1,78 @@
+package com.categories.product.dto.productDTO;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+@Data
+@Schema(
+
+        name = "BulkProductResult",
+        description = "outcome of one item of a bulk product create request , index is the position in the request list"
+
+)
+public class BulkProductResult {
+
+    public enum Status {
+        CREATED,    // row inserted, id is set
+        REJECTED,   // failed validation (e.g. unknown category), nothing was written
+        FAILED      // the batch containing this item could not be written
+    }
+
+    private int index;
+    private Status status;
+    private Long id;
+    private String message;
+
+    public BulkProductResult(int index, Status status, Long id, String message) {
+        this.index = index;
+        this.status = status;
+        this.id = id;
+        this.message = message;
+    }
+
+    public BulkProductResult() {}
+
+    public static BulkProductResult created(int index, Long id) {
+        return new BulkProductResult(index, Status.CREATED, id, null);
+    }
+
+    public static BulkProductResult rejected(int index, String message) {
+        return new BulkProductResult(index, Status.REJECTED, null, message);
+    }
+
+    public static BulkProductResult failed(int index, String message) {
+        return new BulkProductResult(index, Status.FAILED, null, message);
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
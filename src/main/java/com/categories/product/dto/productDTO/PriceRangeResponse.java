@@ -0,0 +1,100 @@
+package com.categories.product.dto.productDTO;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Schema(
+
+        name = "PriceRangeResponse",
+        description = "one page of products inside a price range , cheapest first"
+
+)
+public class PriceRangeResponse {
+
+    private Double min;
+    private Double max;
+
+    // null when the range is not restricted to one category
+    private Long categoryId;
+
+    private List<ProductResponse> items = new ArrayList<>();
+
+    private int page;
+    private int size;
+
+    // number of products inside the range (and category)
+    private long totalCount;
+
+    public PriceRangeResponse(Double min, Double max, Long categoryId, List<ProductResponse> items,
+                              int page, int size, long totalCount) {
+        this.min = min;
+        this.max = max;
+        this.categoryId = categoryId;
+        this.items = items;
+        this.page = page;
+        this.size = size;
+        this.totalCount = totalCount;
+    }
+
+    public PriceRangeResponse() {}
+
+    public Double getMin() {
+        return min;
+    }
+
+    public void setMin(Double min) {
+        this.min = min;
+    }
+
+    public Double getMax() {
+        return max;
+    }
+
+    public void setMax(Double max) {
+        this.max = max;
+    }
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public void setCategoryId(Long categoryId) {
+        this.categoryId = categoryId;
+    }
+
+    public List<ProductResponse> getItems() {
+        return items;
+    }
+
+    public void setItems(List<ProductResponse> items) {
+        this.items = items;
+    }
+
+    public int getPage() {
+        return page;
+    }
+
+    public void setPage(int page) {
+        this.page = page;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    public void setTotalCount(long totalCount) {
+        this.totalCount = totalCount;
+    }
+}
@@ -0,0 +1,46 @@
+package com.categories.product.dto.productDTO;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Schema(
+
+        name = "ProductBatchResponse",
+        description = "products for a list of ids , in request order , plus the ids that do not exist"
+
+)
+public class ProductBatchResponse {
+
+    // one entry per distinct requested id that exists, same order as the request
+    private List<ProductResponse> items = new ArrayList<>();
+
+    // requested ids without a product, same order as the request
+    private List<Long> missingIds = new ArrayList<>();
+
+    public ProductBatchResponse(List<ProductResponse> items, List<Long> missingIds) {
+        this.items = items;
+        this.missingIds = missingIds;
+    }
+
+    public ProductBatchResponse() {}
+
+    public List<ProductResponse> getItems() {
+        return items;
+    }
+
+    public void setItems(List<ProductResponse> items) {
+        this.items = items;
+    }
+
+    public List<Long> getMissingIds() {
+        return missingIds;
+    }
+
+    public void setMissingIds(List<Long> missingIds) {
+        this.missingIds = missingIds;
+    }
+}
@@ -0,0 +1,33 @@
+package com.categories.product.dto.productDTO;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Schema(
+
+        name = "ProductIdsRequest",
+        description = "list of product ids to fetch in one call (POST /api/products/lookup)"
+
+)
+public class ProductIdsRequest {
+
+    private List<Long> ids = new ArrayList<>();
+
+    public ProductIdsRequest(List<Long> ids) {
+        this.ids = ids;
+    }
+
+    public ProductIdsRequest() {}
+
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+}
@@ -23,6 +23,9 @@ public class ProductResponse {
     // returning category info
     private Long categoryId;
 
+    // row version, changes on every update (also returned as the ETag of GET /api/products/{id})
+    private Long version;
+
     public ProductResponse(Long id, String name, String description, Double price, Long categoryId) {
         this.id = id;
         this.name = name;
@@ -30,6 +33,11 @@ public class ProductResponse {
         this.price = price;
         this.categoryId = categoryId;
     }
+
+    public ProductResponse(Long id, String name, String description, Double price, Long categoryId, Long version) {
+        this(id, name, description, price, categoryId);
+        this.version = version;
+    }
     public ProductResponse(){}
 
     public Long getId() {
@@ -71,4 +79,12 @@ public class ProductResponse {
     public void setCategoryId(Long categoryId) {
         this.categoryId = categoryId;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
@@ -0,0 +1,77 @@
+package com.categories.product.dto.productDTO;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Schema(
+
+        name = "ProductSearchResponse",
+        description = "one page of full text search results , best match first"
+
+)
+public class ProductSearchResponse {
+
+    private String query;
+
+    private List<ProductResponse> items = new ArrayList<>();
+
+    private int page;
+    private int size;
+
+    // number of products matching at least one search term
+    private long totalHits;
+
+    public ProductSearchResponse(String query, List<ProductResponse> items, int page, int size, long totalHits) {
+        this.query = query;
+        this.items = items;
+        this.page = page;
+        this.size = size;
+        this.totalHits = totalHits;
+    }
+
+    public ProductSearchResponse() {}
+
+    public String getQuery() {
+        return query;
+    }
+
+    public void setQuery(String query) {
+        this.query = query;
+    }
+
+    public List<ProductResponse> getItems() {
+        return items;
+    }
+
+    public void setItems(List<ProductResponse> items) {
+        this.items = items;
+    }
+
+    public int getPage() {
+        return page;
+    }
+
+    public void setPage(int page) {
+        this.page = page;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    public long getTotalHits() {
+        return totalHits;
+    }
+
+    public void setTotalHits(long totalHits) {
+        this.totalHits = totalHits;
+    }
+}
@@ -0,0 +1,108 @@
+package com.categories.product.dto.syncDTO;
+
+import com.categories.product.dto.categoryDTO.CategoryResponse;
+import com.categories.product.dto.productDTO.ProductResponse;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(
+
+        name = "CatalogChange",
+        description = "one changed or deleted product / category of GET /api/products/changes , the current state (not every intermediate one)"
+
+)
+public class CatalogChange {
+
+    // change sequence, the feed is ordered by it
+    private long seq;
+
+    // product / category
+    private String type;
+
+    // product or category id
+    private Long id;
+
+    // true -> delete it on the mirror, product and category are absent
+    private boolean deleted;
+
+    // category of the product (for a deleted product, the one it was in), null for categories
+    private Long categoryId;
+
+    // state of a changed product
+    private ProductResponse product;
+
+    // id and name of a changed category
+    private CategoryResponse category;
+
+    public CatalogChange(long seq, String type, Long id, boolean deleted, Long categoryId,
+                         ProductResponse product, CategoryResponse category) {
+        this.seq = seq;
+        this.type = type;
+        this.id = id;
+        this.deleted = deleted;
+        this.categoryId = categoryId;
+        this.product = product;
+        this.category = category;
+    }
+
+    public CatalogChange() {}
+
+    public long getSeq() {
+        return seq;
+    }
+
+    public void setSeq(long seq) {
+        this.seq = seq;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public boolean isDeleted() {
+        return deleted;
+    }
+
+    public void setDeleted(boolean deleted) {
+        this.deleted = deleted;
+    }
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public void setCategoryId(Long categoryId) {
+        this.categoryId = categoryId;
+    }
+
+    public ProductResponse getProduct() {
+        return product;
+    }
+
+    public void setProduct(ProductResponse product) {
+        this.product = product;
+    }
+
+    public CategoryResponse getCategory() {
+        return category;
+    }
+
+    public void setCategory(CategoryResponse category) {
+        this.category = category;
+    }
+}
@@ -0,0 +1,58 @@
+package com.categories.product.dto.syncDTO;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Schema(
+
+        name = "CatalogChangesResponse",
+        description = "one page of the change feed , pass nextSince back as ?since= for the following page or the next sync"
+
+)
+public class CatalogChangesResponse {
+
+    // ordered by seq
+    private List<CatalogChange> changes = new ArrayList<>();
+
+    // seq to continue from, also when changes is empty (everything up to it is already seen)
+    private long nextSince;
+
+    // true -> more changes are waiting, ask again right away
+    private boolean hasMore;
+
+    public CatalogChangesResponse(List<CatalogChange> changes, long nextSince, boolean hasMore) {
+        this.changes = changes;
+        this.nextSince = nextSince;
+        this.hasMore = hasMore;
+    }
+
+    public CatalogChangesResponse() {}
+
+    public List<CatalogChange> getChanges() {
+        return changes;
+    }
+
+    public void setChanges(List<CatalogChange> changes) {
+        this.changes = changes;
+    }
+
+    public long getNextSince() {
+        return nextSince;
+    }
+
+    public void setNextSince(long nextSince) {
+        this.nextSince = nextSince;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+}
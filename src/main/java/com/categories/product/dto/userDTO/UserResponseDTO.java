@@ -13,6 +13,8 @@ public class UserResponseDTO {
     private String username;
     private String token;
     private List<String> roles;
+    // long lived, single use: POST /user/refresh exchanges it for a new access token + a new refresh token
+    private String refreshToken;
 
     public UserResponseDTO() {}
 
@@ -54,4 +56,12 @@ public class UserResponseDTO {
     public void setRoles(List<String> roles) {
         this.roles = roles;
     }
+
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+
+    public void setRefreshToken(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
 }
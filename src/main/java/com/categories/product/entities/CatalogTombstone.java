@@ -0,0 +1,75 @@
+package com.categories.product.entities;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+/*
+    Marker left behind by a deleted product or category, so GET /api/products/changes can tell mirrors
+    to delete it. Written by CatalogChangeListener in the transaction of the delete, with the next
+    change sequence as its key (a category delete also leaves one per cascaded product).
+ */
+@Entity
+@Table(name = "catalog_tombstones")
+@Data
+
+public class CatalogTombstone {
+
+    public static final String PRODUCT = "product";
+    public static final String CATEGORY = "category";
+
+    // change sequence of the delete, also the feed order
+    @Id
+    private Long seq;
+
+    // product / category
+    @Column(name = "entity_type", nullable = false, length = 16)
+    private String entityType;
+
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    // category the product was in, null for categories
+    @Column(name = "category_id")
+    private Long categoryId;
+
+    public CatalogTombstone(Long seq, String entityType, Long entityId, Long categoryId) {
+        this.seq = seq;
+        this.entityType = entityType;
+        this.entityId = entityId;
+        this.categoryId = categoryId;
+    }
+
+    public CatalogTombstone() {}
+
+    public Long getSeq() {
+        return seq;
+    }
+
+    public void setSeq(Long seq) {
+        this.seq = seq;
+    }
+
+    public String getEntityType() {
+        return entityType;
+    }
+
+    public void setEntityType(String entityType) {
+        this.entityType = entityType;
+    }
+
+    public Long getEntityId() {
+        return entityId;
+    }
+
+    public void setEntityId(Long entityId) {
+        this.entityId = entityId;
+    }
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public void setCategoryId(Long categoryId) {
+        this.categoryId = categoryId;
+    }
+}
@@ -1,5 +1,6 @@
 package com.categories.product.entities;
 
+import com.categories.product.sync.CatalogChangeListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -8,7 +9,14 @@ import lombok.NoArgsConstructor;
 import java.util.List;
 
 @Entity
-@Table(name = "categories")    // 👈 Actual DB table name
+@Table(
+        name = "categories",    // 👈 Actual DB table name
+        indexes = {
+                // change feed: WHERE change_seq > ? AND change_seq <= ? ORDER BY change_seq
+                @Index(name = "idx_categories_change_seq", columnList = "change_seq")
+        }
+)
+@EntityListeners(CatalogChangeListener.class)
 @Data
 
 public class Category {
@@ -25,10 +33,19 @@ public class Category {
             mappedBy = "category",
             cascade = CascadeType.ALL,   // delete category -> product auto delete
                    // removing product from list deletes it
-            fetch = FetchType.EAGER
+            fetch = FetchType.LAZY       // listings use CategoryRepository summaries, products are loaded only when asked for
     )
     private List<Product> products;
 
+    // Optimistic lock version, Hibernate bumps it on every UPDATE, part of the category ETags
+    @Version
+    @Column(nullable = false)
+    private long version;
+
+    // Catalog wide sequence of the last insert / update (ChangeSequence), set by CatalogChangeListener
+    @Column(name = "change_seq", nullable = false)
+    private long changeSeq;
+
     /*
         ======================
         Dummy Database Example
@@ -92,4 +109,20 @@ public class Category {
     public void setProducts(List<Product> products) {
         this.products = products;
     }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    public long getChangeSeq() {
+        return changeSeq;
+    }
+
+    public void setChangeSeq(long changeSeq) {
+        this.changeSeq = changeSeq;
+    }
 }
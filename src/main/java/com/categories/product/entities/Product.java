@@ -1,18 +1,35 @@
 package com.categories.product.entities;
 
+import com.categories.product.sync.CatalogChangeListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "products")     // 👈 Real DB table name
+@Table(
+        name = "products",     // 👈 Real DB table name
+        indexes = {
+                // category browse: WHERE category_id = ? AND id > ? ORDER BY id
+                @Index(name = "idx_products_category_id_id", columnList = "category_id, id"),
+                // change feed: WHERE change_seq > ? AND change_seq <= ? ORDER BY change_seq
+                @Index(name = "idx_products_change_seq", columnList = "change_seq")
+        }
+)
+@EntityListeners(CatalogChangeListener.class)
 @Data
 
 public class Product {
 
+    public static final String ID_SEQUENCE = "product_seq";
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Pooled sequence (table backed on MySQL): Hibernate reserves 50 ids per round trip and,
+    // unlike IDENTITY, can group INSERTs into JDBC batches (bulk import).
+    // ProductSequenceSeeder moves it above the ids of a database that used AUTO_INCREMENT.
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+    @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
        // SQL Column: id
     private Long id;          // Example: 1
 
@@ -30,6 +47,15 @@ public class Product {
     @JoinColumn(name = "category_id", nullable = false)
     private Category category;
 
+    // Optimistic lock version, Hibernate bumps it on every UPDATE, also the source of the product ETag
+    @Version
+    @Column(nullable = false)
+    private long version;
+
+    // Catalog wide sequence of the last insert / update (ChangeSequence), set by CatalogChangeListener
+    @Column(name = "change_seq", nullable = false)
+    private long changeSeq;
+
 
 
     /*
@@ -119,4 +145,20 @@ public class Product {
     public void setCategory(Category category) {
         this.category = category;
     }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    public long getChangeSeq() {
+        return changeSeq;
+    }
+
+    public void setChangeSeq(long changeSeq) {
+        this.changeSeq = changeSeq;
+    }
 }
@@ -0,0 +1,90 @@
+package com.categories.product.entities;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+/*
+    One refresh token. Only the SHA-256 of the token is stored, the token itself is known to the client only.
+
+    Every refresh marks the presented token as used and issues a new one in the same family.
+    A used token that comes back (stolen and replayed, or replayed by the legitimate client after theft)
+    revokes the whole family, so both parties have to sign in again.
+
+        refresh_tokens:
+        ---------------------------------------------------------------------------------------
+        | id | token_hash (base64url sha256) | family_id | user_id | expires_at | used_at | revoked |
+        ---------------------------------------------------------------------------------------
+ */
+@Entity
+@Table(
+        name = "refresh_tokens",
+        indexes = {
+                @Index(name = "idx_refresh_tokens_family_id", columnList = "family_id"),
+                @Index(name = "idx_refresh_tokens_user_id_expires_at", columnList = "user_id, expires_at")
+        }
+)
+public class RefreshToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "token_hash", nullable = false, unique = true, length = 43)
+    private String tokenHash;
+
+    // all tokens rotated from the same login share one family
+    @Column(name = "family_id", nullable = false, length = 36)
+    private String familyId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    // set when the token was exchanged for a new one, null while it is the current token of its family
+    @Column(name = "used_at")
+    private Instant usedAt;
+
+    @Column(nullable = false)
+    private boolean revoked;
+
+    public RefreshToken() {}
+
+    public RefreshToken(String tokenHash, String familyId, User user, Instant expiresAt) {
+        this.tokenHash = tokenHash;
+        this.familyId = familyId;
+        this.user = user;
+        this.expiresAt = expiresAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getTokenHash() {
+        return tokenHash;
+    }
+
+    public String getFamilyId() {
+        return familyId;
+    }
+
+    public User getUser() {
+        return user;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    public Instant getUsedAt() {
+        return usedAt;
+    }
+
+    public boolean isRevoked() {
+        return revoked;
+    }
+}
@@ -1,10 +1,12 @@
 package com.categories.product.entities;
 
 
+import com.categories.product.security.UserCacheInvalidationListener;
 import jakarta.persistence.*;
 
 @Entity
 @Table(name="Users")
+@EntityListeners(UserCacheInvalidationListener.class)   // role / password change -> drop cached principal
 public class User {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -0,0 +1,53 @@
+package com.categories.product.event;
+
+import java.util.List;
+
+/*
+    Published by CategoryServiceImpl after a category was created, updated or deleted.
+    Deleting a category cascades to its products, their ids are carried along so listeners
+    can drop them without querying the (already deleted) rows.
+ */
+public class CategoryChangedEvent {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    private final Type type;
+    private final Long categoryId;
+
+    // products removed together with the category (DELETED only, empty otherwise)
+    private final List<Long> removedProductIds;
+
+    public CategoryChangedEvent(Type type, Long categoryId, List<Long> removedProductIds) {
+        this.type = type;
+        this.categoryId = categoryId;
+        this.removedProductIds = removedProductIds == null ? List.of() : List.copyOf(removedProductIds);
+    }
+
+    public static CategoryChangedEvent created(Long categoryId) {
+        return new CategoryChangedEvent(Type.CREATED, categoryId, List.of());
+    }
+
+    public static CategoryChangedEvent updated(Long categoryId) {
+        return new CategoryChangedEvent(Type.UPDATED, categoryId, List.of());
+    }
+
+    public static CategoryChangedEvent deleted(Long categoryId, List<Long> removedProductIds) {
+        return new CategoryChangedEvent(Type.DELETED, categoryId, removedProductIds);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public List<Long> getRemovedProductIds() {
+        return removedProductIds;
+    }
+}
@@ -0,0 +1,66 @@
+package com.categories.product.event;
+
+import com.categories.product.dto.productDTO.ProductResponse;
+
+/*
+    Published by the product write paths after a product row was created, updated or deleted.
+    Caches and in-memory indexes listen to this instead of being called directly by the services.
+ */
+public class ProductChangedEvent {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    private final Type type;
+    private final Long productId;
+    private final Long categoryId;
+
+    // category the product belonged to before an update (same as categoryId when it did not move)
+    private final Long previousCategoryId;
+
+    // state after the change, null for DELETED
+    private final ProductResponse product;
+
+    public ProductChangedEvent(Type type, Long productId, Long categoryId, Long previousCategoryId, ProductResponse product) {
+        this.type = type;
+        this.productId = productId;
+        this.categoryId = categoryId;
+        this.previousCategoryId = previousCategoryId;
+        this.product = product;
+    }
+
+    public static ProductChangedEvent created(ProductResponse product) {
+        return new ProductChangedEvent(Type.CREATED, product.getId(), product.getCategoryId(), product.getCategoryId(), product);
+    }
+
+    public static ProductChangedEvent updated(ProductResponse product, Long previousCategoryId) {
+        return new ProductChangedEvent(Type.UPDATED, product.getId(), product.getCategoryId(), previousCategoryId, product);
+    }
+
+    public static ProductChangedEvent deleted(Long productId, Long categoryId) {
+        return new ProductChangedEvent(Type.DELETED, productId, categoryId, categoryId, null);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public Long getPreviousCategoryId() {
+        return previousCategoryId;
+    }
+
+    public ProductResponse getProduct() {
+        return product;
+    }
+}
@@ -0,0 +1,12 @@
+package com.categories.product.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.PAYLOAD_TOO_LARGE)
+public class BulkRequestTooLargeException extends RuntimeException {
+
+    public BulkRequestTooLargeException(String message) {
+        super(message);
+    }
+}
@@ -2,8 +2,10 @@ package com.categories.product.exception;
 
 import com.categories.product.dto.exceptionResponseDTO.ExceptionResponseDTO;
 import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 
@@ -27,6 +29,21 @@ public class GlobalExceptionHandler {
                 ));
     }
 
+    // 🔹 409 – Row was updated concurrently (@Version mismatch)
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<ExceptionResponseDTO> handleOptimisticLock(
+            ObjectOptimisticLockingFailureException ex,
+            HttpServletRequest request
+    ) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(new ExceptionResponseDTO(
+                        request.getRequestURI(),
+                        HttpStatus.CONFLICT.value(),
+                        "Resource was modified concurrently, reload it and retry",
+                        LocalDateTime.now()
+                ));
+    }
+
     // 🔹 404 – Category not found
     @ExceptionHandler(CategoryNotFoundException.class)
     public ResponseEntity<ExceptionResponseDTO> handleCategoryNotFound(
@@ -42,6 +59,21 @@ public class GlobalExceptionHandler {
                 ));
     }
 
+    // 🔹 404 – Product not found
+    @ExceptionHandler(ProductNotFoundException.class)
+    public ResponseEntity<ExceptionResponseDTO> handleProductNotFound(
+            ProductNotFoundException ex,
+            HttpServletRequest request
+    ) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(new ExceptionResponseDTO(
+                        request.getRequestURI(),
+                        HttpStatus.NOT_FOUND.value(),
+                        ex.getMessage(),
+                        LocalDateTime.now()
+                ));
+    }
+
     // 🔹 404 – User not found
     @ExceptionHandler(UserNotFoundException.class)
     public ResponseEntity<ExceptionResponseDTO> handleUserNotFound(
@@ -57,6 +89,115 @@ public class GlobalExceptionHandler {
                 ));
     }
 
+    // 🔹 401 – Wrong username or password
+    @ExceptionHandler(InvalidCredentialsException.class)
+    public ResponseEntity<ExceptionResponseDTO> handleInvalidCredentials(
+            InvalidCredentialsException ex,
+            HttpServletRequest request
+    ) {
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                .body(new ExceptionResponseDTO(
+                        request.getRequestURI(),
+                        HttpStatus.UNAUTHORIZED.value(),
+                        ex.getMessage(),
+                        LocalDateTime.now()
+                ));
+    }
+
+    // 🔹 401 – Unknown, expired, revoked or reused refresh token
+    @ExceptionHandler(InvalidRefreshTokenException.class)
+    public ResponseEntity<ExceptionResponseDTO> handleInvalidRefreshToken(
+            InvalidRefreshTokenException ex,
+            HttpServletRequest request
+    ) {
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                .body(new ExceptionResponseDTO(
+                        request.getRequestURI(),
+                        HttpStatus.UNAUTHORIZED.value(),
+                        ex.getMessage(),
+                        LocalDateTime.now()
+                ));
+    }
+
+    // 🔹 400 – Invalid page cursor
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ExceptionResponseDTO> handleInvalidCursor(
+            InvalidCursorException ex,
+            HttpServletRequest request
+    ) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(new ExceptionResponseDTO(
+                        request.getRequestURI(),
+                        HttpStatus.BAD_REQUEST.value(),
+                        ex.getMessage(),
+                        LocalDateTime.now()
+                ));
+    }
+
+    // 🔹 400 – Invalid price range
+    @ExceptionHandler(InvalidPriceRangeException.class)
+    public ResponseEntity<ExceptionResponseDTO> handleInvalidPriceRange(
+            InvalidPriceRangeException ex,
+            HttpServletRequest request
+    ) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(new ExceptionResponseDTO(
+                        request.getRequestURI(),
+                        HttpStatus.BAD_REQUEST.value(),
+                        ex.getMessage(),
+                        LocalDateTime.now()
+                ));
+    }
+
+    // 🔹 413 – Bulk request has too many items
+    @ExceptionHandler(BulkRequestTooLargeException.class)
+    public ResponseEntity<ExceptionResponseDTO> handleBulkRequestTooLarge(
+            BulkRequestTooLargeException ex,
+            HttpServletRequest request
+    ) {
+        return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE)
+                .body(new ExceptionResponseDTO(
+                        request.getRequestURI(),
+                        HttpStatus.PAYLOAD_TOO_LARGE.value(),
+                        ex.getMessage(),
+                        LocalDateTime.now()
+                ));
+    }
+
+    // 🔹 503 – Password hashing queue is full (login / register storm), Retry-After in whole seconds
+    @ExceptionHandler(PasswordHashingBusyException.class)
+    public ResponseEntity<ExceptionResponseDTO> handlePasswordHashingBusy(
+            PasswordHashingBusyException ex,
+            HttpServletRequest request
+    ) {
+        long retryAfterSeconds = Math.max(1, (ex.getRetryAfter().toMillis() + 999) / 1000);
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(new ExceptionResponseDTO(
+                        request.getRequestURI(),
+                        HttpStatus.SERVICE_UNAVAILABLE.value(),
+                        ex.getMessage(),
+                        LocalDateTime.now()
+                ));
+    }
+
+    // 🔹 503 – Write-behind update buffer is full, Retry-After in whole seconds
+    @ExceptionHandler(UpdateBufferFullException.class)
+    public ResponseEntity<ExceptionResponseDTO> handleUpdateBufferFull(
+            UpdateBufferFullException ex,
+            HttpServletRequest request
+    ) {
+        long retryAfterSeconds = Math.max(1, (ex.getRetryAfter().toMillis() + 999) / 1000);
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(new ExceptionResponseDTO(
+                        request.getRequestURI(),
+                        HttpStatus.SERVICE_UNAVAILABLE.value(),
+                        ex.getMessage(),
+                        LocalDateTime.now()
+                ));
+    }
+
 
     // ❌ NO Spring Security exceptions here
 }
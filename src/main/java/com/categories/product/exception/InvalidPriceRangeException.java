@@ -0,0 +1,12 @@
+package com.categories.product.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidPriceRangeException extends RuntimeException {
+
+    public InvalidPriceRangeException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,22 @@
+package com.categories.product.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.time.Duration;
+
+// The write-behind update buffer is full (or shutting down), the client should retry after retryAfter
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class UpdateBufferFullException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public UpdateBufferFullException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
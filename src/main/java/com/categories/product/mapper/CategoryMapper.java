@@ -37,9 +37,11 @@ public class CategoryMapper { // Defines the CategoryMapper class, responsible f
                             .map(com.categories.product.mapper.ProductMapper::toProductResponse)
                             .toList() // Collects the resulting ProductResponse DTOs into a List.
             );
+            categoryResponse.setProductCount((long) category.getProducts().size()); // The count comes for free once products are loaded.
         } else {
             // If the list of products is null (e.g., category fetched without products), set an empty list.
             categoryResponse.setProducts(Collections.emptyList());
+            categoryResponse.setProductCount(0L); // No products loaded -> nothing counted.
         }
 
         return categoryResponse; // Returns the fully populated CategoryResponse DTO.
@@ -0,0 +1,61 @@
+package com.categories.product.mapper;
+
+import com.categories.product.dto.pageDTO.CursorPageResponse;
+import com.categories.product.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+public class CursorMapper {
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
+    // cursors are versioned so the encoding can change without breaking old links
+    private static final String PREFIX = "v1:";
+
+    // ================== page size ====================
+    // Missing size -> default, anything above the limit is clamped so one call can never pull the whole table.
+    public static int resolvePageSize(Integer size) {
+        if (size == null || size <= 0) return DEFAULT_PAGE_SIZE;
+        return Math.min(size, MAX_PAGE_SIZE);
+    }
+
+    // ================== last id → cursor ====================
+    public static String encode(Long lastId) {
+        if (lastId == null) return null;
+        String raw = PREFIX + lastId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // ================== cursor → last id ====================
+    // No cursor means "start from the beginning", ids are always positive so 0 is before the first row.
+    public static long decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) return 0L;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!raw.startsWith(PREFIX)) {
+                throw new InvalidCursorException("Invalid cursor : " + cursor);
+            }
+            return Long.parseLong(raw.substring(PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            // covers both bad base64 and NumberFormatException
+            throw new InvalidCursorException("Invalid cursor : " + cursor);
+        }
+    }
+
+    // ================== rows → page ====================
+    // Repositories are asked for pageSize + 1 rows, the extra row only tells us whether a next page exists.
+    public static <E, T> CursorPageResponse<T> toPage(List<E> rows, int pageSize,
+                                                      Function<E, Long> idOf, Function<E, T> mapper) {
+        boolean hasMore = rows.size() > pageSize;
+        List<E> pageRows = hasMore ? rows.subList(0, pageSize) : rows;
+
+        List<T> items = pageRows.stream().map(mapper).toList();
+        String nextCursor = hasMore ? encode(idOf.apply(pageRows.get(pageRows.size() - 1))) : null;
+
+        return new CursorPageResponse<>(items, nextCursor, items.size(), hasMore);
+    }
+}
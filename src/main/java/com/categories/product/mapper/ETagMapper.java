@@ -0,0 +1,36 @@
+package com.categories.product.mapper;
+
+import com.categories.product.dto.productDTO.ProductResponse;
+import com.categories.product.repositories.VersionStamp;
+
+/*
+    Weak ETags for conditional GETs, built from row versions only (never from the serialized body).
+
+    product            W/"p12-v3"                           -> product 12, version 3
+    category           W/"c4-v0-p25.31.118-products20"      -> category 4, version 0, its products stamp, representation
+    category list      W/"lmq1x0k2a.57-summary"             -> catalog write counter of this run (CatalogWriteVersion), representation
+
+    The list tag needs no query at all: an aggregate over the whole products table on every request (304s included)
+    would be a full scan. The counter lives in this process like the caches, writes by another instance are not seen.
+    The representation (?include / ?limit) is part of the tag, different data never shares an ETag.
+    Weak because the same data goes out as JSON, Smile or CBOR and gzipped or not, which are not byte-identical
+    (Tomcat also never compresses a response carrying a strong ETag). If-None-Match uses weak comparison anyway.
+ */
+public class ETagMapper {
+
+    public static String forProduct(ProductResponse product) {
+        return quote("p" + product.getId() + "-v" + product.getVersion());
+    }
+
+    public static String forCategory(Long id, VersionStamp category, String representation) {
+        return quote("c" + id + "-v" + category.getVersion() + "-p" + category.token() + "-" + representation);
+    }
+
+    public static String forCategoryList(String writeToken, String representation) {
+        return quote("l" + writeToken + "-" + representation);
+    }
+
+    private static String quote(String value) {
+        return "W/\"" + value + "\"";
+    }
+}
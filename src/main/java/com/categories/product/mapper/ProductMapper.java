@@ -4,6 +4,7 @@ import com.categories.product.dto.productDTO.ProductRequest; // Imports the DTO
 import com.categories.product.dto.productDTO.ProductResponse; // Imports the DTO for outgoing product data (response).
 import com.categories.product.entities.Category; // Imports the Category JPA Entity class, needed for setting the association.
 import com.categories.product.entities.Product; // Imports the Product JPA Entity class.
+import com.categories.product.repositories.ProductView; // Imports the interface projection returned by native product queries.
 
 public class ProductMapper { // Defines the ProductMapper class, responsible for conversion logic.
 
@@ -17,12 +18,26 @@ public class ProductMapper { // Defines the ProductMapper class, responsible for
                 product.getDescription(), // Maps the Product Description.
                 product.getPrice(), // Maps the Product Price.
                 // Accesses the associated Category entity and maps only its ID to the response.
-                product.getCategory().getId()
+                product.getCategory().getId(),
+                product.getVersion() // Maps the row version (source of the product ETag).
         );
 
 
     }
 
+    // ProductView (native query row) ----> ProductResponse
+    // Same fields as above, read from the projection, no entity was ever created for this row.
+    public static ProductResponse toProductResponse(ProductView view) {
+        return new ProductResponse(
+                view.getId(),
+                view.getName(),
+                view.getDescription(),
+                view.getPrice(),
+                view.getCategoryId(),
+                view.getVersion()
+        );
+    }
+
     // ProductRequest ----> Entity
     // Static method to convert a ProductRequest DTO to a Product Entity.
     // Takes the DTO and the retrieved Category Entity as input.
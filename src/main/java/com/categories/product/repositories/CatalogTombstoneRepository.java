@@ -0,0 +1,18 @@
+package com.categories.product.repositories;
+
+import com.categories.product.entities.CatalogTombstone;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+public interface CatalogTombstoneRepository extends JpaRepository<CatalogTombstone, Long> {
+
+    // Change feed: deletes after :since up to :until in sequence order, a range scan of the primary key
+    @Transactional(readOnly = true)
+    @Query("SELECT t FROM CatalogTombstone t WHERE t.seq > :since AND t.seq <= :until ORDER BY t.seq")
+    List<CatalogTombstone> findChangesBetween(@Param("since") long since, @Param("until") long until, Limit limit);
+}
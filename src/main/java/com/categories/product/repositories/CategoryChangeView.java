@@ -0,0 +1,13 @@
+package com.categories.product.repositories;
+
+/*
+    One categories row of the change feed, summary fields only (the products come as their own changes).
+ */
+public interface CategoryChangeView {
+
+    Long getId();
+
+    String getName();
+
+    Long getChangeSeq();
+}
@@ -1,11 +1,44 @@
 package com.categories.product.repositories;
 
+import com.categories.product.dto.categoryDTO.CategoryResponse;
 import com.categories.product.entities.Category;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface CategoryRepository extends JpaRepository<Category, Integer> {
 
     Optional<Category> findByName(String name);
+
+    // WHERE id IN (:ids) with Long ids (findAllById takes the repository's Integer key type), used by the bulk create
+    List<Category> findByIdIn(Collection<Long> ids);
+
+    // Summary of every category (id, name, product count) in one aggregate query, no product rows are loaded
+    @Query("SELECT new com.categories.product.dto.categoryDTO.CategoryResponse(c.id, c.name, COUNT(p.id)) " +
+            "FROM Category c LEFT JOIN c.products p " +
+            "GROUP BY c.id, c.name ORDER BY c.id")
+    List<CategoryResponse> findAllSummaries();
+
+    @Query("SELECT new com.categories.product.dto.categoryDTO.CategoryResponse(c.id, c.name, COUNT(p.id)) " +
+            "FROM Category c LEFT JOIN c.products p " +
+            "WHERE c.id = :id GROUP BY c.id, c.name")
+    Optional<CategoryResponse> findSummaryById(@Param("id") Long id);
+
+    // Category version plus (count, SUM(version), MAX(id)) of its products, empty when the category does not exist
+    @Query("SELECT new com.categories.product.repositories.VersionStamp(c.version, COUNT(p.id), COALESCE(SUM(p.version), 0L), COALESCE(MAX(p.id), 0L)) " +
+            "FROM Category c LEFT JOIN c.products p " +
+            "WHERE c.id = :id GROUP BY c.id, c.version")
+    Optional<VersionStamp> findVersionStampById(@Param("id") Long id);
+
+    // Change feed: categories stamped after :since up to :until in sequence order, served from idx_categories_change_seq
+    @Transactional(readOnly = true)
+    @Query("SELECT c.id AS id, c.name AS name, c.changeSeq AS changeSeq FROM Category c " +
+            "WHERE c.changeSeq > :since AND c.changeSeq <= :until ORDER BY c.changeSeq")
+    List<CategoryChangeView> findChangesBetween(@Param("since") long since, @Param("until") long until, Limit limit);
 }
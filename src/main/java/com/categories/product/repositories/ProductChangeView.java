@@ -0,0 +1,9 @@
+package com.categories.product.repositories;
+
+/*
+    One products row of the change feed: the product as ProductView plus the change sequence it was stamped with.
+ */
+public interface ProductChangeView extends ProductView {
+
+    Long getChangeSeq();
+}
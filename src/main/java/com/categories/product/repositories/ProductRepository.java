@@ -1,8 +1,89 @@
 package com.categories.product.repositories;
 
+import com.categories.product.dto.productDTO.ProductResponse;
 import com.categories.product.entities.Product;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
 
 public interface ProductRepository extends JpaRepository<Product, Integer> {
 
+    /*
+        List reads select straight into ProductResponse: no Product entity, no lazy Category proxy and nothing
+        registered in the persistence context for dirty checking. p.category.id is the category_id column itself,
+        the categories table is not joined.
+        Declared query methods get no transaction from SimpleJpaRepository, so each one runs in its own read-only
+        transaction: Hibernate switches the session to FlushMode.MANUAL (no auto flush before the query) and
+        marks the JDBC connection read-only.
+     */
+    String PRODUCT_RESPONSE = "SELECT new com.categories.product.dto.productDTO.ProductResponse(" +
+            "p.id, p.name, p.description, p.price, p.category.id, p.version) FROM Product p ";
+
+    // Keyset page: WHERE id > :after ORDER BY id LIMIT :n, served straight from the primary key index
+    @Transactional(readOnly = true)
+    @Query(PRODUCT_RESPONSE + "WHERE p.id > :after ORDER BY p.id")
+    List<ProductResponse> findResponsesAfter(@Param("after") Long after, Limit limit);
+
+    // Keyset page inside one category, served from idx_products_category_id_id (category_id, id)
+    @Transactional(readOnly = true)
+    @Query(PRODUCT_RESPONSE + "WHERE p.category.id = :categoryId AND p.id > :after ORDER BY p.id")
+    List<ProductResponse> findResponsesByCategoryAfter(@Param("categoryId") Long categoryId,
+                                                       @Param("after") Long after,
+                                                       Limit limit);
+
+    // WHERE id IN (:ids) with Long ids (findAllById takes the repository's Integer key type), used by the multi-get
+    @Transactional(readOnly = true)
+    @Query(PRODUCT_RESPONSE + "WHERE p.id IN :ids")
+    List<ProductResponse> findResponsesByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Change feed: products stamped after :since up to :until in sequence order, served from idx_products_change_seq
+    @Transactional(readOnly = true)
+    @Query("SELECT p.id AS id, p.name AS name, p.description AS description, p.price AS price, " +
+            "p.category.id AS categoryId, p.version AS version, p.changeSeq AS changeSeq FROM Product p " +
+            "WHERE p.changeSeq > :since AND p.changeSeq <= :until ORDER BY p.changeSeq")
+    List<ProductChangeView> findChangesBetween(@Param("since") long since, @Param("until") long until, Limit limit);
+
+    // Ids only (no entity hydration), used before a category delete cascades to its products
+    @Query("SELECT p.id FROM Product p WHERE p.category.id = :categoryId")
+    List<Long> findIdsByCategoryId(@Param("categoryId") Long categoryId);
+
+    // First :limit products (by id) of every given category in ONE query, used by ?include=products on category listings.
+    // Native (window function), read through the ProductView interface projection instead of entities.
+    @Transactional(readOnly = true)
+    @Query(value = "SELECT t.id, t.name, t.description, t.price, t.category_id AS categoryId, t.version FROM (" +
+            "SELECT p.id, p.name, p.description, p.price, p.category_id, p.version, " +
+            "ROW_NUMBER() OVER (PARTITION BY p.category_id ORDER BY p.id) AS rn " +
+            "FROM products p WHERE p.category_id IN (:categoryIds)) t " +
+            "WHERE t.rn <= :limit ORDER BY t.category_id, t.id",
+            nativeQuery = true)
+    List<ProductView> findFirstProductsOfCategories(@Param("categoryIds") Collection<Long> categoryIds,
+                                                    @Param("limit") int limit);
+
+    // Forward-only stream over the whole table for the NDJSON export, rows are fetched from the
+    // server cursor :fetchSize at a time (MySQL needs useCursorFetch=true, set on the export pool only) and loaded read-only.
+    // Must be consumed inside a transaction and closed.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p FROM Product p ORDER BY p.id")
+    Stream<Product> streamAllOrderById();
+
+    // (id, price, category id) of every priced product, cheapest first, used to build the in-memory price index.
+    // Object[] rows: no entity hydration, same streaming hints as the export.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p.id, p.price, p.category.id FROM Product p WHERE p.price IS NOT NULL ORDER BY p.price, p.id")
+    Stream<Object[]> streamPricesOrderByPriceAndId();
 }
@@ -0,0 +1,22 @@
+package com.categories.product.repositories;
+
+/*
+    Interface projection of one products row, for native queries (they cannot use a JPQL constructor expression).
+
+    Spring Data backs it with the result tuple, no Product entity or Category proxy is created.
+    The column aliases of the query must match the getter names (category_id AS categoryId).
+ */
+public interface ProductView {
+
+    Long getId();
+
+    String getName();
+
+    String getDescription();
+
+    Double getPrice();
+
+    Long getCategoryId();
+
+    Long getVersion();
+}
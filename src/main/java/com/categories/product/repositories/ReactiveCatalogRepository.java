@@ -0,0 +1,134 @@
+package com.categories.product.repositories;
+
+import com.categories.product.dto.categoryDTO.CategoryResponse;
+import com.categories.product.dto.productDTO.ProductResponse;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import io.r2dbc.spi.Readable;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/*
+    Non-blocking read access (R2DBC) for the reactive read path, only created with catalog.reactive.enabled=true.
+
+    The R2DBC pool is private to this class on purpose: a ConnectionFactory bean would make Spring Boot
+    back off from the JDBC DataSource that JPA and all write endpoints keep using.
+    Same tables and columns as the JPA entities, rows are mapped straight to the response DTOs.
+ */
+@Repository
+@ConditionalOnProperty(name = "catalog.reactive.enabled", havingValue = "true")
+public class ReactiveCatalogRepository {
+
+    private static final String PRODUCT_COLUMNS = "p.id, p.name, p.description, p.price, p.category_id, p.version";
+
+    private static final String CATEGORY_SUMMARY =
+            "SELECT c.id, c.name, COUNT(p.id) AS product_count " +
+            "FROM categories c LEFT JOIN products p ON p.category_id = c.id ";
+
+    private final ConnectionPool pool;
+    private final DatabaseClient client;
+
+    public ReactiveCatalogRepository(
+            @Value("${catalog.reactive.url}") String url,
+            @Value("${catalog.reactive.username:}") String username,
+            @Value("${catalog.reactive.password:}") String password,
+            @Value("${catalog.reactive.pool.max-size:20}") int maxSize
+    ) {
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build();
+        // connections are opened on first use, startup never waits for the database
+        this.pool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+                .initialSize(0)
+                .maxSize(maxSize)
+                .build());
+        this.client = DatabaseClient.create(pool);
+    }
+
+    // ================= PRODUCTS =================
+
+    public Mono<ProductResponse> findProductById(Long id) {
+        return client.sql("SELECT " + PRODUCT_COLUMNS + " FROM products p WHERE p.id = :id")
+                .bind("id", id)
+                .map(ReactiveCatalogRepository::toProductResponse)
+                .one();
+    }
+
+    // Keyset scan ordered by id, limit == null streams every remaining row
+    public Flux<ProductResponse> findProductsAfter(long afterId, Integer limit) {
+        DatabaseClient.GenericExecuteSpec spec = client
+                .sql("SELECT " + PRODUCT_COLUMNS + " FROM products p WHERE p.id > :afterId ORDER BY p.id" +
+                        (limit == null ? "" : " LIMIT :limit"))
+                .bind("afterId", afterId);
+        if (limit != null) spec = spec.bind("limit", limit);
+        return spec.map(ReactiveCatalogRepository::toProductResponse).all();
+    }
+
+    public Flux<ProductResponse> findProductsByCategoryAfter(Long categoryId, long afterId, Integer limit) {
+        DatabaseClient.GenericExecuteSpec spec = client
+                .sql("SELECT " + PRODUCT_COLUMNS + " FROM products p " +
+                        "WHERE p.category_id = :categoryId AND p.id > :afterId ORDER BY p.id" +
+                        (limit == null ? "" : " LIMIT :limit"))
+                .bind("categoryId", categoryId)
+                .bind("afterId", afterId);
+        if (limit != null) spec = spec.bind("limit", limit);
+        return spec.map(ReactiveCatalogRepository::toProductResponse).all();
+    }
+
+    // ================= CATEGORIES =================
+
+    public Mono<Boolean> existsCategoryById(Long id) {
+        return client.sql("SELECT 1 FROM categories WHERE id = :id")
+                .bind("id", id)
+                .map(row -> Boolean.TRUE)
+                .first()
+                .hasElement();
+    }
+
+    public Mono<CategoryResponse> findCategorySummaryById(Long id) {
+        return client.sql(CATEGORY_SUMMARY + "WHERE c.id = :id GROUP BY c.id, c.name")
+                .bind("id", id)
+                .map(ReactiveCatalogRepository::toCategorySummary)
+                .one();
+    }
+
+    public Flux<CategoryResponse> findAllCategorySummaries() {
+        return client.sql(CATEGORY_SUMMARY + "GROUP BY c.id, c.name ORDER BY c.id")
+                .map(ReactiveCatalogRepository::toCategorySummary)
+                .all();
+    }
+
+    @PreDestroy
+    public void close() {
+        pool.dispose();
+    }
+
+    // ================= ROW MAPPING =================
+
+    private static ProductResponse toProductResponse(Readable row) {
+        return new ProductResponse(
+                row.get("id", Long.class),
+                row.get("name", String.class),
+                row.get("description", String.class),
+                row.get("price", Double.class),
+                row.get("category_id", Long.class),
+                row.get("version", Long.class)
+        );
+    }
+
+    private static CategoryResponse toCategorySummary(Readable row) {
+        return new CategoryResponse(
+                row.get("id", Long.class),
+                row.get("name", String.class),
+                row.get("product_count", Long.class)
+        );
+    }
+}
@@ -0,0 +1,45 @@
+package com.categories.product.repositories;
+
+/*
+    Aggregate "version" of a set of rows, read with one aggregate query instead of loading the rows.
+
+    count + SUM(version) + MAX(id) changes on every write:
+    insert -> count and MAX(id) grow, update -> SUM(version) grows, delete -> count shrinks.
+
+    version is the row version of the parent (a single category).
+ */
+public class VersionStamp {
+
+    private final long version;
+    private final long count;
+    private final long versionSum;
+    private final long maxId;
+
+    public VersionStamp(Long version, Long count, Long versionSum, Long maxId) {
+        this.version = version == null ? 0 : version;
+        this.count = count == null ? 0 : count;
+        this.versionSum = versionSum == null ? 0 : versionSum;
+        this.maxId = maxId == null ? 0 : maxId;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getVersionSum() {
+        return versionSum;
+    }
+
+    public long getMaxId() {
+        return maxId;
+    }
+
+    // "3.7.12" style token, used inside ETags
+    public String token() {
+        return count + "." + versionSum + "." + maxId;
+    }
+}
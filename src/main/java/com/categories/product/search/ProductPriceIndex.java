@@ -0,0 +1,326 @@
+package com.categories.product.search;
+
+import com.categories.product.dto.productDTO.ProductResponse;
+import com.categories.product.event.CategoryChangedEvent;
+import com.categories.product.event.ProductChangedEvent;
+import com.categories.product.repositories.ProductRepository;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/*
+    Sorted in-memory price index for price range queries.
+
+    Three parallel primitive arrays, sorted by (price, id):
+
+        prices       [  55.0,  599.0, 45000.0, 79999.0 ]
+        ids          [     4,      3,       2,       1 ]
+        categoryIds  [     3,      2,       1,       1 ]
+
+    24 bytes per product and no object per entry (a TreeMap<Double, Product> needs an entry,
+    a boxed Double and the entity itself). Range bounds are two binary searches, so a range
+    count without a category filter is O(log n).
+
+    - built once from the products table before the web server accepts requests
+    - kept current by ProductChangedEvent / CategoryChangedEvent: a change only goes into a pending map
+      (product id -> new entry or removed, last change wins), O(1) per event
+    - pending changes are merged in one pass over the arrays (drop changed ids, then merge the sorted new
+      entries in from the back, in place) before the next query or once MAX_PENDING are waiting.
+      A bulk import of k products costs one O(n + k log k) merge instead of k shifts of the whole arrays,
+      and a removal needs no scan for its position
+    - products without a price are not indexed
+ */
+@Component
+public class ProductPriceIndex implements SmartInitializingSingleton {
+
+    // merged on the write path beyond this, so the map (and the next query's merge) stays bounded
+    static final int MAX_PENDING = 4096;
+    private static final Pending REMOVED = new Pending(0, 0);
+
+    private final ProductRepository productRepository;
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private double[] prices = new double[1024];
+    private long[] ids = new long[1024];
+    private long[] categoryIds = new long[1024];
+    private int size;
+
+    // changes not merged into the arrays yet, guarded by the write lock
+    private final Map<Long, Pending> pending = new HashMap<>();
+    private volatile int pendingSize;
+
+    public ProductPriceIndex(ProductRepository productRepository, PlatformTransactionManager transactionManager) {
+        this.productRepository = productRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    // Runs after all singletons exist and before the embedded server starts, so the first request sees a full index
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuild();
+    }
+
+    // Rows arrive already ordered by (price, id), they are appended without any sorting on our side
+    public void rebuild() {
+        readOnlyTransaction.executeWithoutResult(status -> {
+            lock.writeLock().lock();
+            try {
+                size = 0;
+                pending.clear();
+                pendingSize = 0;
+                try (Stream<Object[]> rows = productRepository.streamPricesOrderByPriceAndId()) {
+                    rows.forEach(row -> append(
+                            ((Number) row[1]).doubleValue(),
+                            ((Number) row[0]).longValue(),
+                            ((Number) row[2]).longValue()));
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    // ================= QUERIES =================
+
+    /**
+     * Products with min <= price <= max (optionally only in one category), cheapest first.
+     * Counts every match and returns the ids of matches [offset, offset + limit).
+     */
+    public Range range(double min, double max, Long categoryId, int offset, int limit) {
+        mergePending();
+        lock.readLock().lock();
+        try {
+            int from = lowerBound(min);
+            int to = upperBound(max);
+            if (from >= to) {
+                return new Range(0, new long[0]);
+            }
+
+            // Step 1: no category filter -> the count is the distance between the bounds
+            if (categoryId == null) {
+                int start = (int) Math.min((long) from + offset, to);
+                int end = (int) Math.min((long) start + limit, to);
+                return new Range(to - from, Arrays.copyOfRange(ids, start, end));
+            }
+
+            // Step 2: category filter -> one pass over the price range
+            long category = categoryId;
+            long[] page = new long[Math.min(limit, to - from)];
+            int pageSize = 0;
+            long count = 0;
+            for (int i = from; i < to; i++) {
+                if (categoryIds[i] != category) continue;
+                if (count >= offset && pageSize < page.length) {
+                    page[pageSize++] = ids[i];
+                }
+                count++;
+            }
+            return new Range(count, Arrays.copyOf(page, pageSize));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long count(double min, double max) {
+        mergePending();
+        lock.readLock().lock();
+        try {
+            return Math.max(0, upperBound(max) - lowerBound(min));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        mergePending();
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // first position with price >= min
+    private int lowerBound(double min) {
+        int low = 0, high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (prices[mid] < min) low = mid + 1;
+            else high = mid;
+        }
+        return low;
+    }
+
+    // first position with price > max
+    private int upperBound(double max) {
+        int low = 0, high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (prices[mid] <= max) low = mid + 1;
+            else high = mid;
+        }
+        return low;
+    }
+
+    // ================= INCREMENTAL UPDATES =================
+
+    @EventListener
+    public void onProductChanged(ProductChangedEvent event) {
+        if (event.getProductId() == null) return;
+        ProductResponse product = event.getProduct();
+        boolean indexed = event.getType() != ProductChangedEvent.Type.DELETED && product.getPrice() != null;
+        lock.writeLock().lock();
+        try {
+            pending.put(event.getProductId(), indexed ? new Pending(product.getPrice(), product.getCategoryId()) : REMOVED);
+            afterChange();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Deleting a category cascades to its products, they are dropped with the next merge
+    @EventListener
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        if (event.getRemovedProductIds().isEmpty()) return;
+        lock.writeLock().lock();
+        try {
+            for (Long id : event.getRemovedProductIds()) {
+                pending.put(id, REMOVED);
+            }
+            afterChange();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // caller holds the write lock
+    private void afterChange() {
+        if (pending.size() >= MAX_PENDING) {
+            merge();
+        } else {
+            pendingSize = pending.size();
+        }
+    }
+
+    private void mergePending() {
+        if (pendingSize == 0) return;
+        lock.writeLock().lock();
+        try {
+            merge();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // caller holds the write lock
+    private void merge() {
+        if (pending.isEmpty()) return;
+
+        // Step 1: drop the indexed entry of every changed product, one pass, a sorted id array instead of boxing
+        long[] changed = new long[pending.size()];
+        List<Map.Entry<Long, Pending>> added = new ArrayList<>(pending.size());
+        int c = 0;
+        for (Map.Entry<Long, Pending> entry : pending.entrySet()) {
+            changed[c++] = entry.getKey();
+            if (entry.getValue() != REMOVED) added.add(entry);
+        }
+        Arrays.sort(changed);
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            if (Arrays.binarySearch(changed, ids[i]) >= 0) continue;
+            prices[kept] = prices[i];
+            ids[kept] = ids[i];
+            categoryIds[kept] = categoryIds[i];
+            kept++;
+        }
+
+        // Step 2: merge the new entries, sorted by (price, id), from the back: every slot is written once
+        added.sort(Comparator.<Map.Entry<Long, Pending>>comparingDouble(entry -> entry.getValue().price)
+                .thenComparingLong(Map.Entry::getKey));
+        ensureCapacity(kept + added.size());
+        int i = kept - 1;
+        int write = kept + added.size() - 1;
+        for (int j = added.size() - 1; j >= 0; j--) {
+            double price = added.get(j).getValue().price;
+            long id = added.get(j).getKey();
+            while (i >= 0 && (prices[i] > price || (prices[i] == price && ids[i] > id))) {
+                prices[write] = prices[i];
+                ids[write] = ids[i];
+                categoryIds[write] = categoryIds[i];
+                i--;
+                write--;
+            }
+            prices[write] = price;
+            ids[write] = id;
+            categoryIds[write] = added.get(j).getValue().categoryId;
+            write--;
+        }
+        size = kept + added.size();
+        pending.clear();
+        pendingSize = 0;
+    }
+
+    // caller holds the write lock, rows arrive sorted
+    private void append(double price, long id, long categoryId) {
+        ensureCapacity(size + 1);
+        prices[size] = price;
+        ids[size] = id;
+        categoryIds[size] = categoryId;
+        size++;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= prices.length) return;
+        int newLength = Math.max(capacity, prices.length * 2);
+        prices = Arrays.copyOf(prices, newLength);
+        ids = Arrays.copyOf(ids, newLength);
+        categoryIds = Arrays.copyOf(categoryIds, newLength);
+    }
+
+    // new (price, category) of a changed product, REMOVED when it is no longer indexed
+    private static final class Pending {
+
+        private final double price;
+        private final long categoryId;
+
+        private Pending(double price, long categoryId) {
+            this.price = price;
+            this.categoryId = categoryId;
+        }
+    }
+
+    // Number of products in the range plus the ids of the requested slice, cheapest first
+    public static final class Range {
+
+        private final long count;
+        private final long[] ids;
+
+        public Range(long count, long[] ids) {
+            this.count = count;
+            this.ids = ids;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long[] getIds() {
+            return ids.clone();
+        }
+    }
+}
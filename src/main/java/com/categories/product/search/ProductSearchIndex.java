@@ -0,0 +1,426 @@
+package com.categories.product.search;
+
+import com.categories.product.dto.productDTO.ProductResponse;
+import com.categories.product.entities.Product;
+import com.categories.product.event.CategoryChangedEvent;
+import com.categories.product.event.ProductChangedEvent;
+import com.categories.product.mapper.ProductMapper;
+import com.categories.product.repositories.ProductRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/*
+    In-memory inverted index over Product.name + Product.description, ranked with BM25.
+
+    Every product gets a dense int ordinal, postings are primitive arrays of ordinals:
+
+    term -> Posting ( int[] ordinals sorted ascending, int[] term frequencies )
+    ordinal -> indexed product, document length
+
+    A new or updated product always gets the next (highest) ordinal, so adding appends to every posting.
+    Removing finds the entry by binary search and leaves a tombstone, O(terms * log n) per product instead of a
+    scan of every posting. Postings compact themselves once half tombstones, freed ordinals are handed out again
+    by renumbering everything once there are more dead ordinals than live ones (order preserving, amortized).
+
+    A search walks the postings of its terms side by side (document at a time, they are sorted by ordinal) and
+    scores each matching product once, the per query arrays grow with the number of matches, not with the catalog.
+
+    - built once from the products table before the web server accepts requests
+    - kept current by ProductChangedEvent / CategoryChangedEvent (create, update, delete, category delete)
+    - many concurrent searches, one writer at a time (ReadWriteLock)
+    - name terms count NAME_BOOST times, a match in the name outranks the same match in the description
+ */
+@Component
+public class ProductSearchIndex implements SmartInitializingSingleton {
+
+    // standard BM25 parameters: term frequency saturation / document length normalization
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int NAME_BOOST = 2;
+
+    private final ProductRepository productRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Posting> postings = new HashMap<>();
+    private final Map<Long, Integer> ordinals = new HashMap<>();
+    private IndexedProduct[] documents = new IndexedProduct[1024];
+    private int[] lengths = new int[1024];
+    private int ordinalLimit;
+    // ordinals below ordinalLimit whose product was removed, reclaimed by renumber()
+    private int deadOrdinals;
+    private long totalLength;
+
+    public ProductSearchIndex(ProductRepository productRepository,
+                              EntityManager entityManager,
+                              PlatformTransactionManager transactionManager) {
+        this.productRepository = productRepository;
+        this.entityManager = entityManager;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    // Runs after all singletons exist and before the embedded server starts, so the first request sees a full index
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuild();
+    }
+
+    // Streams the table with the same cursor query as the NDJSON export, rows are detached once indexed
+    public void rebuild() {
+        readOnlyTransaction.executeWithoutResult(status -> {
+            lock.writeLock().lock();
+            try {
+                postings.clear();
+                ordinals.clear();
+                documents = new IndexedProduct[1024];
+                lengths = new int[1024];
+                ordinalLimit = 0;
+                deadOrdinals = 0;
+                totalLength = 0;
+                try (Stream<Product> products = productRepository.streamAllOrderById()) {
+                    products.forEach(product -> {
+                        add(ProductMapper.toProductResponse(product));
+                        entityManager.detach(product);
+                    });
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    // ================= SEARCH =================
+
+    /**
+     * Ranks every product matching at least one query term and returns the requested page.
+     * Only the top (page + 1) * size hits are kept while ranking.
+     */
+    public Hits search(String query, int page, int size) {
+        Set<String> terms = new LinkedHashSet<>(Tokenizer.tokenize(query));
+        if (terms.isEmpty() || size <= 0) {
+            return new Hits(0, List.of());
+        }
+
+        lock.readLock().lock();
+        try {
+            int n = ordinals.size();
+            if (n == 0) {
+                return new Hits(0, List.of());
+            }
+            double avgLength = (double) totalLength / n;
+
+            List<Posting> matching = new ArrayList<>(terms.size());
+            int maxMatches = 0;
+            for (String term : terms) {
+                Posting posting = postings.get(term);
+                if (posting != null) {
+                    matching.add(posting);
+                    maxMatches += posting.size;
+                }
+            }
+            if (matching.isEmpty()) {
+                return new Hits(0, List.of());
+            }
+
+            // Step 1: document at a time, every round takes the lowest ordinal under the cursors and adds up
+            // the BM25 contribution of every posting positioned on it. matches[m] is the ordinal of scores[m].
+            int termCount = matching.size();
+            int[] cursors = new int[termCount];
+            double[] idfs = new double[termCount];
+            for (int t = 0; t < termCount; t++) {
+                Posting posting = matching.get(t);
+                idfs[t] = Math.log(1 + (n - posting.size + 0.5) / (posting.size + 0.5));
+            }
+            int[] matches = new int[maxMatches];
+            double[] scores = new double[maxMatches];
+            int matched = 0;
+            while (true) {
+                int ordinal = Integer.MAX_VALUE;
+                for (int t = 0; t < termCount; t++) {
+                    Posting posting = matching.get(t);
+                    while (cursors[t] < posting.length && posting.frequencies[cursors[t]] == 0) cursors[t]++; // tombstones
+                    if (cursors[t] < posting.length) ordinal = Math.min(ordinal, posting.ordinals[cursors[t]]);
+                }
+                if (ordinal == Integer.MAX_VALUE) break;
+
+                double score = 0;
+                for (int t = 0; t < termCount; t++) {
+                    Posting posting = matching.get(t);
+                    if (cursors[t] < posting.length && posting.ordinals[cursors[t]] == ordinal) {
+                        int tf = posting.frequencies[cursors[t]++];
+                        score += idfs[t] * tf * (K1 + 1) / (tf + K1 * (1 - B + B * lengths[ordinal] / avgLength));
+                    }
+                }
+                matches[matched] = ordinal;
+                scores[matched++] = score;
+            }
+
+            // Step 2: keep the best (page + 1) * size hits in a min-heap (worst hit at the root), entries are match indexes
+            int keep = (int) Math.min((long) (page + 1) * size, matched);
+            int[] heap = new int[keep];
+            int heapSize = 0;
+            for (int m = 0; m < matched; m++) {
+                if (heapSize < keep) {
+                    heap[heapSize] = m;
+                    siftUp(heap, heapSize++, scores, matches);
+                } else if (ranksBefore(m, heap[0], scores, matches)) {
+                    heap[0] = m;
+                    siftDown(heap, heapSize, scores, matches);
+                }
+            }
+
+            // Step 3: drain the heap worst first into a best first array, cut out the requested page
+            int[] ranked = new int[heapSize];
+            for (int i = heapSize - 1; i >= 0; i--) {
+                ranked[i] = heap[0];
+                heap[0] = heap[--heapSize];
+                siftDown(heap, heapSize, scores, matches);
+            }
+            int from = (int) Math.min((long) page * size, ranked.length);
+            List<ProductResponse> items = new ArrayList<>(ranked.length - from);
+            for (int i = from; i < ranked.length; i++) {
+                items.add(documents[matches[ranked[i]]].product);
+            }
+            return new Hits(matched, items);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return ordinals.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // higher score first, equal scores -> lower product id first
+    private boolean ranksBefore(int a, int b, double[] scores, int[] matches) {
+        if (scores[a] != scores[b]) return scores[a] > scores[b];
+        return documents[matches[a]].product.getId() < documents[matches[b]].product.getId();
+    }
+
+    private void siftUp(int[] heap, int index, double[] scores, int[] matches) {
+        int match = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (!ranksBefore(heap[parent], match, scores, matches)) break;
+            heap[index] = heap[parent];
+            index = parent;
+        }
+        heap[index] = match;
+    }
+
+    private void siftDown(int[] heap, int heapSize, double[] scores, int[] matches) {
+        if (heapSize == 0) return;
+        int match = heap[0];
+        int index = 0;
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= heapSize) break;
+            if (child + 1 < heapSize && ranksBefore(heap[child], heap[child + 1], scores, matches)) child++;
+            if (!ranksBefore(match, heap[child], scores, matches)) break;
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = match;
+    }
+
+    // ================= INCREMENTAL UPDATES =================
+
+    @EventListener
+    public void onProductChanged(ProductChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            remove(event.getProductId());
+            if (event.getType() != ProductChangedEvent.Type.DELETED) {
+                add(event.getProduct());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Deleting a category cascades to its products
+    @EventListener
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        if (event.getRemovedProductIds().isEmpty()) return;
+        lock.writeLock().lock();
+        try {
+            event.getRemovedProductIds().forEach(this::remove);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // caller holds the write lock
+    private void add(ProductResponse product) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        for (String token : Tokenizer.tokenize(product.getName())) {
+            frequencies.merge(token, NAME_BOOST, Integer::sum);
+        }
+        for (String token : Tokenizer.tokenize(product.getDescription())) {
+            frequencies.merge(token, 1, Integer::sum);
+        }
+
+        int ordinal = nextOrdinal();
+        int length = 0;
+        for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+            postings.computeIfAbsent(entry.getKey(), term -> new Posting()).add(ordinal, entry.getValue());
+            length += entry.getValue();
+        }
+        ordinals.put(product.getId(), ordinal);
+        documents[ordinal] = new IndexedProduct(product, frequencies.keySet().toArray(String[]::new));
+        lengths[ordinal] = length;
+        totalLength += length;
+    }
+
+    // caller holds the write lock
+    private void remove(Long productId) {
+        Integer ordinal = ordinals.remove(productId);
+        if (ordinal == null) return;
+        for (String term : documents[ordinal].terms) {
+            Posting posting = postings.get(term);
+            if (posting != null && posting.remove(ordinal) && posting.size == 0) {
+                postings.remove(term);
+            }
+        }
+        totalLength -= lengths[ordinal];
+        documents[ordinal] = null;
+        lengths[ordinal] = 0;
+        if (++deadOrdinals > Math.max(ordinals.size(), 1024)) {
+            renumber();
+        }
+    }
+
+    // caller holds the write lock. Moves the live products down to 0..n-1 keeping their order,
+    // so every posting stays sorted and is rewritten in one pass.
+    private void renumber() {
+        int[] renumbered = new int[ordinalLimit];
+        int next = 0;
+        for (int ordinal = 0; ordinal < ordinalLimit; ordinal++) {
+            if (documents[ordinal] == null) continue;
+            renumbered[ordinal] = next;
+            documents[next] = documents[ordinal];
+            lengths[next] = lengths[ordinal];
+            next++;
+        }
+        Arrays.fill(documents, next, ordinalLimit, null);
+        Arrays.fill(lengths, next, ordinalLimit, 0);
+        for (Posting posting : postings.values()) {
+            posting.renumber(renumbered);
+        }
+        ordinals.replaceAll((productId, ordinal) -> renumbered[ordinal]);
+        ordinalLimit = next;
+        deadOrdinals = 0;
+    }
+
+    private int nextOrdinal() {
+        if (ordinalLimit == documents.length) {
+            documents = Arrays.copyOf(documents, documents.length * 2);
+            lengths = Arrays.copyOf(lengths, lengths.length * 2);
+        }
+        return ordinalLimit++;
+    }
+
+    // Postings list of one term sorted by ordinal, a removed entry keeps its ordinal with frequency 0 (tombstone)
+    private static final class Posting {
+
+        private int[] ordinals = new int[4];
+        private int[] frequencies = new int[4];
+        // entries in the arrays (tombstones included) / live entries
+        private int length;
+        private int size;
+
+        // ordinal is higher than every ordinal in the list (see nextOrdinal), appending keeps it sorted
+        private void add(int ordinal, int frequency) {
+            if (length == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, length * 2);
+                frequencies = Arrays.copyOf(frequencies, length * 2);
+            }
+            ordinals[length] = ordinal;
+            frequencies[length] = frequency;
+            length++;
+            size++;
+        }
+
+        private boolean remove(int ordinal) {
+            int i = Arrays.binarySearch(ordinals, 0, length, ordinal);
+            if (i < 0 || frequencies[i] == 0) return false;
+            frequencies[i] = 0;
+            size--;
+            if (size * 2 < length) {
+                compact(null);
+            }
+            return true;
+        }
+
+        private void renumber(int[] renumbered) {
+            compact(renumbered);
+        }
+
+        // drops the tombstones, optionally mapping every ordinal through renumbered (order preserving)
+        private void compact(int[] renumbered) {
+            int kept = 0;
+            for (int i = 0; i < length; i++) {
+                if (frequencies[i] == 0) continue;
+                ordinals[kept] = renumbered == null ? ordinals[i] : renumbered[ordinals[i]];
+                frequencies[kept] = frequencies[i];
+                kept++;
+            }
+            length = kept;
+        }
+    }
+
+    private static final class IndexedProduct {
+
+        private final ProductResponse product;
+        // distinct terms of this product, needed to take it out of the postings again
+        private final String[] terms;
+
+        private IndexedProduct(ProductResponse product, String[] terms) {
+            this.product = product;
+            this.terms = terms;
+        }
+    }
+
+    // One page of ranked products plus the number of products matching the query
+    public static final class Hits {
+
+        private final long total;
+        private final List<ProductResponse> products;
+
+        public Hits(long total, List<ProductResponse> products) {
+            this.total = total;
+            this.products = Collections.unmodifiableList(products);
+        }
+
+        public long getTotal() {
+            return total;
+        }
+
+        public List<ProductResponse> getProducts() {
+            return products;
+        }
+    }
+}
@@ -2,16 +2,56 @@ package com.categories.product.security;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 
+/*
+    JSON plus two binary encodings of the same DTOs, picked per request by the Accept header:
+
+    Accept: application/json              -> JSON (default)
+    Accept: application/x-jackson-smile   -> Smile, binary JSON, repeated field names are back references
+    Accept: application/cbor              -> CBOR (RFC 8949)
+
+    All three mappers share the same settings, so a DTO encodes to the same fields in every format.
+    Request bodies are accepted in all three formats as well (Content-Type).
+ */
 @Configuration
 public class JacksonConfig {
 
+    public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+    public static final String APPLICATION_CBOR_VALUE = "application/cbor";
+
     @Bean
     public ObjectMapper objectMapper() {
-        ObjectMapper mapper = new ObjectMapper();
+        return configure(new ObjectMapper());
+    }
+
+    // Boot adds converter beans in front of its defaults and drops its own converter of the same type
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter() {
+        return new MappingJackson2SmileHttpMessageConverter(smileMapper());
+    }
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter() {
+        return new MappingJackson2CborHttpMessageConverter(cborMapper());
+    }
+
+    // Not beans: a second ObjectMapper bean would make injection by type ambiguous
+    public ObjectMapper smileMapper() {
+        return configure(new SmileMapper());
+    }
+
+    public ObjectMapper cborMapper() {
+        return configure(new CBORMapper());
+    }
+
+    private static ObjectMapper configure(ObjectMapper mapper) {
         mapper.registerModule(new JavaTimeModule());
         mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
         return mapper;
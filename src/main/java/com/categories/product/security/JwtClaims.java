@@ -0,0 +1,59 @@
+package com.categories.product.security;
+
+import io.jsonwebtoken.Claims;
+
+import java.util.Date;
+import java.util.List;
+
+/*
+    Immutable view of a token that already passed signature + expiry verification.
+    JwtUtil parses a token exactly once into this object, everything else reads from it.
+ */
+public final class JwtClaims {
+
+    private final String username;
+    private final List<String> roles;
+    private final Date issuedAt;
+    private final Date expiration;
+
+    public JwtClaims(String username, List<String> roles, Date issuedAt, Date expiration) {
+        this.username = username;
+        this.roles = roles == null ? List.of() : List.copyOf(roles);
+        this.issuedAt = issuedAt == null ? null : new Date(issuedAt.getTime());
+        this.expiration = expiration == null ? null : new Date(expiration.getTime());
+    }
+
+    @SuppressWarnings("unchecked")
+    public static JwtClaims from(Claims claims) {
+        return new JwtClaims(
+                claims.getSubject(),
+                claims.get("roles", List.class),
+                claims.getIssuedAt(),
+                claims.getExpiration()
+        );
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public List<String> getRoles() {
+        return roles;
+    }
+
+    public Date getIssuedAt() {
+        return issuedAt == null ? null : new Date(issuedAt.getTime());
+    }
+
+    public Date getExpiration() {
+        return expiration == null ? null : new Date(expiration.getTime());
+    }
+
+    public long getExpirationMillis() {
+        return expiration == null ? Long.MAX_VALUE : expiration.getTime();
+    }
+
+    public boolean isExpired() {
+        return getExpirationMillis() <= System.currentTimeMillis();
+    }
+}
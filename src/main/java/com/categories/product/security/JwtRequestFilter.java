@@ -1,11 +1,17 @@
 package com.categories.product.security;
 
 import com.categories.product.serviceImpl.CustomUserDetailsService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -15,18 +21,52 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Component
 public class JwtRequestFilter extends OncePerRequestFilter {
 
+    private static final Logger log = LoggerFactory.getLogger(JwtRequestFilter.class);
+
     @Autowired
     private JwtUtil jwtUtil;
 
     @Autowired
     private CustomUserDetailsService userDetailsService;
 
+    // true -> build the Authentication from the token only (subject + roles)
+    @Value("${security.jwt.stateless-principal:false}")
+    private boolean statelessPrincipal;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // 📊 security.jwt.filter{outcome} -> time spent in this filter only (the rest of the chain is not included)
+    private final Map<Outcome, Timer> timers = new EnumMap<>(Outcome.class);
+
+    enum Outcome {
+        NO_TOKEN, INVALID_TOKEN, AUTHENTICATED, REJECTED, ALREADY_AUTHENTICATED, ERROR;
+
+        String tag() {
+            return name().toLowerCase();
+        }
+    }
+
+    @PostConstruct
+    void registerTimers() {
+        for (Outcome outcome : Outcome.values()) {
+            timers.put(outcome, Timer.builder("security.jwt.filter")
+                    .description("JWT extraction, verification and principal resolution")
+                    .tag("outcome", outcome.tag())
+                    .publishPercentiles(0.5, 0.99, 0.999)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+    }
+
     @Override
     protected void doFilterInternal(
             HttpServletRequest request,
@@ -34,57 +74,82 @@ public class JwtRequestFilter extends OncePerRequestFilter {
             FilterChain filterChain
     ) throws ServletException, IOException {
 
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Outcome outcome = Outcome.ERROR;
+        try {
+            outcome = authenticate(request);
+        } finally {
+            sample.stop(timers.get(outcome));
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private Outcome authenticate(HttpServletRequest request) {
         final String authHeader = request.getHeader("Authorization");
 
-        String username = null;
-        String token = null;
-
-        // 🔐 Extract JWT
-        if (authHeader != null && authHeader.startsWith("Bearer ")) {
-            token = authHeader.substring(7);
-            try {
-                username = jwtUtil.extractUsername(token);
-            } catch (Exception e) {
-                System.out.println("Invalid JWT Token");
-            }
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            return Outcome.NO_TOKEN;
+        }
+
+        // 🔐 Extract + verify JWT (parsed once, repeated tokens come from the verified-claims cache)
+        JwtClaims claims;
+        try {
+            claims = jwtUtil.verify(authHeader.substring(7));
+        } catch (Exception e) {
+            // debug only: every request with a bad token would log otherwise (counted in security.jwt.filter)
+            log.debug("Invalid JWT token: {}", e.getMessage());
+            return Outcome.INVALID_TOKEN;
         }
 
         // 🔐 Authenticate only once
-        if (username != null &&
-                SecurityContextHolder.getContext().getAuthentication() == null) {
-
-            UserDetails userDetails =
-                    userDetailsService.loadUserByUsername(username);
-
-            // ✅ Correct validation
-            if (jwtUtil.validateToken(token, userDetails)) {
-
-                // 🔹 Extract roles from JWT
-                List<String> roles = jwtUtil.extractRoles(token);
-
-                List<SimpleGrantedAuthority> authorities =
-                        roles.stream()
-                                .map(SimpleGrantedAuthority::new)
-                                .collect(Collectors.toList());
-
-                UsernamePasswordAuthenticationToken authToken =
-                        new UsernamePasswordAuthenticationToken(
-                                userDetails,
-                                null,
-                                authorities
-                        );
-
-                authToken.setDetails(
-                        new WebAuthenticationDetailsSource()
-                                .buildDetails(request)
-                );
-
-                SecurityContextHolder
-                        .getContext()
-                        .setAuthentication(authToken);
-            }
+        if (SecurityContextHolder.getContext().getAuthentication() != null) {
+            return Outcome.ALREADY_AUTHENTICATED;
         }
 
-        filterChain.doFilter(request, response);
+        // 🔹 Stateless mode: principal straight from the verified claims, no users-table round trip.
+        //    Database mode: load the UserPrincipal (optionally cached by UserPrincipalCache).
+        UserDetails userDetails = statelessPrincipal
+                ? principalFromClaims(claims)
+                : userDetailsService.loadUserByUsername(claims.getUsername());
+
+        // ✅ Correct validation
+        if (jwtUtil.validateToken(claims, userDetails)) {
+
+            // 🔹 Roles come from the already verified claims
+            List<SimpleGrantedAuthority> authorities = authoritiesOf(claims);
+
+            UsernamePasswordAuthenticationToken authToken =
+                    new UsernamePasswordAuthenticationToken(
+                            userDetails,
+                            null,
+                            authorities
+                    );
+
+            authToken.setDetails(
+                    new WebAuthenticationDetailsSource()
+                            .buildDetails(request)
+            );
+
+            SecurityContextHolder
+                    .getContext()
+                    .setAuthentication(authToken);
+            return Outcome.AUTHENTICATED;
+        }
+        return Outcome.REJECTED;
+    }
+
+    private static UserDetails principalFromClaims(JwtClaims claims) {
+        return org.springframework.security.core.userdetails.User
+                .withUsername(claims.getUsername())
+                .password("")               // never used, the token is the credential
+                .authorities(authoritiesOf(claims))
+                .build();
+    }
+
+    private static List<SimpleGrantedAuthority> authoritiesOf(JwtClaims claims) {
+        return claims.getRoles().stream()
+                .map(SimpleGrantedAuthority::new)
+                .collect(Collectors.toList());
     }
 }
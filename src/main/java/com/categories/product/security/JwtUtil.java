@@ -1,17 +1,29 @@
 package com.categories.product.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
 import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
 import java.util.Date;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 @Component
@@ -19,10 +31,30 @@ public class JwtUtil {
 
     private Key key;
 
+    // ✅ Built once, JwtParser is immutable and thread-safe
+    private JwtParser parser;
+
+    // 🔹 SHA-256(token) -> verified claims, each entry lives until the token itself expires
+    private Cache<String, JwtClaims> verifiedTokens;
+
+    @Value("${security.jwt.verified-cache.max-size:10000}")
+    private long verifiedCacheMaxSize = 10_000;
+
+    // upper bound for tokens with a very long (or no) expiration
+    @Value("${security.jwt.verified-cache.max-ttl:15m}")
+    private Duration verifiedCacheMaxTtl = Duration.ofMinutes(15);
+
     // ✅ Initialize a secure HS256 key
     @PostConstruct
     public void init() {
         key = Keys.secretKeyFor(SignatureAlgorithm.HS256); // Always 256-bit key
+        parser = Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build();
+        verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheMaxSize)
+                .expireAfter(new UntilTokenExpires(verifiedCacheMaxTtl))
+                .build();
     }
 
     // ================= TOKEN GENERATION =================
@@ -37,35 +69,103 @@ public class JwtUtil {
                 .compact();
     }
 
+    // ================= VERIFICATION =================
+
+    /**
+     * Verifies signature + expiry and returns the claims.
+     * A token is parsed at most once while it is valid, repeated calls are served from the cache.
+     *
+     * @throws io.jsonwebtoken.JwtException for a bad signature, malformed or expired token
+     */
+    public JwtClaims verify(String token) {
+        String digest = digest(token);
+
+        JwtClaims cached = verifiedTokens.getIfPresent(digest);
+        if (cached != null) {
+            if (!cached.isExpired()) {
+                return cached;
+            }
+            verifiedTokens.invalidate(digest);
+        }
+
+        JwtClaims claims = parse(token);
+        verifiedTokens.put(digest, claims);
+        return claims;
+    }
+
+    /**
+     * Parses and verifies the token without touching the cache.
+     */
+    public JwtClaims parse(String token) {
+        JwtClaims claims = JwtClaims.from(parser.parseClaimsJws(token).getBody());
+        // jjwt already rejects expired tokens, this only guards against clock skew between the check and now
+        if (claims.isExpired()) {
+            throw new ExpiredJwtException(null, null, "JWT expired");
+        }
+        return claims;
+    }
+
     // ================= VALIDATION =================
     public boolean validateToken(String token, UserDetails userDetails) {
-        String username = extractUsername(token);
-        return username.equals(userDetails.getUsername()) && !isTokenExpired(token);
+        return validateToken(verify(token), userDetails);
+    }
+
+    public boolean validateToken(JwtClaims claims, UserDetails userDetails) {
+        return claims.getUsername().equals(userDetails.getUsername()) && !claims.isExpired();
     }
 
     // ================= CLAIM EXTRACTION =================
     public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+        return verify(token).getUsername();
     }
 
     public Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+        return verify(token).getExpiration();
     }
 
     public List<String> extractRoles(String token) {
-        return extractClaim(token, claims -> claims.get("roles", List.class));
+        return verify(token).getRoles();
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> resolver) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        Claims claims = parser.parseClaimsJws(token).getBody();
         return resolver.apply(claims);
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    // The cache never keeps the bearer token itself, only its SHA-256
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    // Caffeine expiry: entry lives until the token's exp claim (capped by maxTtl)
+    private static final class UntilTokenExpires implements Expiry<String, JwtClaims> {
+
+        private final long maxTtlNanos;
+
+        private UntilTokenExpires(Duration maxTtl) {
+            this.maxTtlNanos = maxTtl.toNanos();
+        }
+
+        @Override
+        public long expireAfterCreate(String key, JwtClaims claims, long currentTime) {
+            long remainingMillis = claims.getExpirationMillis() - System.currentTimeMillis();
+            if (remainingMillis <= 0) return 0;
+            return Math.min(TimeUnit.MILLISECONDS.toNanos(remainingMillis), maxTtlNanos);
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, JwtClaims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, JwtClaims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
 }
@@ -1,9 +1,13 @@
 package com.categories.product.security;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authorization.AuthorityAuthorizationManager;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
@@ -15,8 +19,13 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Base64;
+
 @Configuration
 @EnableWebSecurity
 @EnableMethodSecurity(prePostEnabled = true)
@@ -26,17 +35,24 @@ public class SecurityConfig {
     private final JwtRequestFilter jwtRequestFilter;
     private final JwtAuthenticationEntryPoint authenticationEntryPoint;
     private final JwtAccessDeniedHandler accessDeniedHandler;
+    // "Basic base64(user:password)" the Prometheus scraper sends, null -> no scrape credential configured
+    private final byte[] scrapeAuthorization;
 
     public SecurityConfig(
             UserDetailsService userDetailsService,
             JwtRequestFilter jwtRequestFilter,
             JwtAuthenticationEntryPoint authenticationEntryPoint,
-            JwtAccessDeniedHandler accessDeniedHandler
+            JwtAccessDeniedHandler accessDeniedHandler,
+            @Value("${catalog.metrics.scrape-user:prometheus}") String scrapeUser,
+            @Value("${catalog.metrics.scrape-password:}") String scrapePassword
     ) {
         this.userDetailsService = userDetailsService;
         this.jwtRequestFilter = jwtRequestFilter;
         this.authenticationEntryPoint = authenticationEntryPoint;
         this.accessDeniedHandler = accessDeniedHandler;
+        this.scrapeAuthorization = scrapePassword.isBlank() ? null : ("Basic " + Base64.getEncoder()
+                .encodeToString((scrapeUser + ":" + scrapePassword).getBytes(StandardCharsets.UTF_8)))
+                .getBytes(StandardCharsets.UTF_8);
     }
 
     /**
@@ -62,9 +78,16 @@ public class SecurityConfig {
 
                 // 🔐 Authorization rules
                 .authorizeHttpRequests(auth -> auth
-                        .requestMatchers("/user/register", "/user/login", "/error").permitAll()
+                        .requestMatchers("/user/register", "/user/login", "/user/refresh", "/error").permitAll()
+                        // 📈 Actuator: health is public, prometheus takes the static scrape credential (or an admin token),
+                        //    everything else (cache stats, ...) is admin only
+                        .requestMatchers("/actuator/health").permitAll()
+                        .requestMatchers("/actuator/prometheus").access(scrapeAccess())
+                        .requestMatchers("/actuator/**").hasAuthority("ROLE_ADMIN")
                         // ⚠️ Keep only if APIs are public
                         .requestMatchers(HttpMethod.GET, "/api/**").permitAll()
+                        // multi-get with the ids in the body, a read like the GETs above
+                        .requestMatchers(HttpMethod.POST, "/api/products/lookup").permitAll()
                         .anyRequest().authenticated()
                 )
 
@@ -77,6 +100,25 @@ public class SecurityConfig {
         return http.build();
     }
 
+    /**
+     * 📈 Prometheus scrape: HTTP Basic with catalog.metrics.scrape-user / scrape-password, or ROLE_ADMIN.
+     * Access tokens expire after minutes and are signed with a per-start key, a scraper cannot keep one.
+     */
+    private AuthorizationManager<RequestAuthorizationContext> scrapeAccess() {
+        AuthorizationManager<RequestAuthorizationContext> admin = AuthorityAuthorizationManager.hasAuthority("ROLE_ADMIN");
+        if (scrapeAuthorization == null) {
+            return admin;
+        }
+        return (authentication, context) -> {
+            String header = context.getRequest().getHeader("Authorization");
+            // constant time compare, the credential does not leak through response timing
+            if (header != null && MessageDigest.isEqual(scrapeAuthorization, header.getBytes(StandardCharsets.UTF_8))) {
+                return new AuthorizationDecision(true);
+            }
+            return admin.check(authentication, context);
+        };
+    }
+
     /**
      * 🔑 Password Encoder
      */
@@ -0,0 +1,41 @@
+package com.categories.product.security;
+
+import com.categories.product.entities.User;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/*
+    JPA entity listener on User: any update (role, password, ...) or delete evicts the cached principal,
+    whatever code path made the change. Spring injects the cache because Hibernate resolves entity
+    listeners through Spring's bean container.
+
+    @PostUpdate / @PostRemove run at flush, before the commit: a request loading the user in between still
+    reads the old row and would put it back for the whole TTL. So the entry is evicted again after the commit.
+ */
+@Component
+public class UserCacheInvalidationListener {
+
+    private final UserPrincipalCache userPrincipalCache;
+
+    public UserCacheInvalidationListener(UserPrincipalCache userPrincipalCache) {
+        this.userPrincipalCache = userPrincipalCache;
+    }
+
+    @PostUpdate
+    @PostRemove
+    public void evict(User user) {
+        String username = user.getUsername();
+        userPrincipalCache.invalidate(username);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    userPrincipalCache.invalidate(username);
+                }
+            });
+        }
+    }
+}
@@ -25,6 +25,8 @@ public class UserPrincipal implements UserDetails {
         return List.of(new SimpleGrantedAuthority("ROLE_" + user.getRole().name()));
     }
 
+    public Long getId() { return user.getId(); }
+
     @Override
     public String getPassword() { return user.getPassword(); }
 
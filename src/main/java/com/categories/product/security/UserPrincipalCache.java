@@ -0,0 +1,60 @@
+package com.categories.product.security;
+
+import com.categories.product.cache.SingleFlight;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/*
+    Optional username -> UserPrincipal cache in front of UserRepository.findByUsername.
+
+    Only needed for code paths that really want the User entity (JwtRequestFilter in
+    database principal mode, login). Entries are dropped by UserCacheInvalidationListener
+    whenever a user row is updated (role / password change) or deleted.
+ */
+@Component
+public class UserPrincipalCache {
+
+    private final boolean enabled;
+    // async only so that the users lookup runs outside the map lock (see SingleFlight)
+    private final AsyncCache<String, UserPrincipal> cache;
+
+    public UserPrincipalCache(
+            @Value("${security.user-cache.enabled:false}") boolean enabled,
+            @Value("${security.user-cache.max-size:10000}") long maxSize,
+            @Value("${security.user-cache.ttl:5m}") Duration ttl
+    ) {
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .buildAsync();
+    }
+
+    public UserPrincipal get(String username, Function<String, UserPrincipal> loader) {
+        if (!enabled) {
+            return loader.apply(username);
+        }
+        return SingleFlight.get(cache, username, loader);
+    }
+
+    public void invalidate(String username) {
+        if (username != null) {
+            cache.synchronous().invalidate(username);
+        }
+    }
+
+    public CacheStats stats() {
+        return cache.synchronous().stats();
+    }
+
+    public long size() {
+        return cache.synchronous().estimatedSize();
+    }
+}
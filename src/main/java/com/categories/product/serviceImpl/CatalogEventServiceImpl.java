@@ -0,0 +1,342 @@
+package com.categories.product.serviceImpl;
+
+import com.categories.product.dto.eventDTO.CatalogChangeMessage;
+import com.categories.product.event.CategoryChangedEvent;
+import com.categories.product.event.ProductChangedEvent;
+import com.categories.product.services.CatalogEventService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongFunction;
+
+/*
+    Fan-out of ProductChangedEvent / CategoryChangedEvent to the SSE streams of GET /api/events.
+
+    Every change gets the next sequence number and goes into a ring buffer of the last replay-size changes
+    (resume with Last-Event-ID) and into the bounded queue of every matching subscriber. Publishing never
+    blocks on a client: a subscriber whose queue is full is dropped (it gets an "overflow" event and reconnects
+    with its Last-Event-ID). Queues are drained on a small pool of platform threads (catalog.events.sender-threads):
+    SseEmitter.send is synchronized and writes to the socket, on a virtual thread a slow client would pin its
+    carrier for the whole write and could stall every virtual thread (request handling included). An idle
+    subscriber holds no thread, only its queue and the async request Tomcat keeps open. A heartbeat comment
+    keeps idle connections through proxies and finds clients that went away.
+
+    Sequence numbers restart with the application, so event ids are "<epoch>-<seq>" with an epoch per start:
+    a Last-Event-ID from an earlier run (or one no longer in the replay buffer) is answered with "reset".
+
+    Metrics (on /actuator/prometheus):
+    catalog.events.subscribers        -> open streams
+    catalog.events.published          -> changes put on the stream
+    catalog.events.dropped            -> subscribers dropped because they did not keep up
+ */
+@Service
+public class CatalogEventServiceImpl implements CatalogEventService {
+
+    private static final Object HEARTBEAT = new Object();
+
+    private final Duration timeout;
+    private final int queueCapacity;
+    private final CatalogChangeMessage[] replay;
+    // start time of this run, part of every event id
+    private final String epoch = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+
+    // guards seq, replay and subscribers, held only for non blocking work (no I/O)
+    private final ReentrantLock lock = new ReentrantLock();
+    private final List<Subscriber> subscribers = new ArrayList<>();
+    private long seq;
+
+    // at most one task per subscriber is queued or running (see drain), the task queue stays small
+    private final ExecutorService senders;
+    private final ScheduledExecutorService heartbeat;
+
+    private final Counter published;
+    private final Counter dropped;
+
+    public CatalogEventServiceImpl(
+            MeterRegistry meterRegistry,
+            @Value("${catalog.events.timeout:30m}") Duration timeout,
+            @Value("${catalog.events.queue-capacity:256}") int queueCapacity,
+            @Value("${catalog.events.replay-size:10000}") int replaySize,
+            @Value("${catalog.events.heartbeat:25s}") Duration heartbeatInterval,
+            @Value("${catalog.events.sender-threads:4}") int senderThreads
+    ) {
+        this.timeout = timeout;
+        this.queueCapacity = queueCapacity;
+        this.replay = new CatalogChangeMessage[Math.max(1, replaySize)];
+
+        Gauge.builder("catalog.events.subscribers", this, CatalogEventServiceImpl::subscriberCount)
+                .description("Open catalog change streams")
+                .register(meterRegistry);
+        this.published = Counter.builder("catalog.events.published")
+                .description("Catalog changes put on the change stream")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("catalog.events.dropped")
+                .description("Change stream subscribers dropped because their queue was full")
+                .register(meterRegistry);
+
+        AtomicInteger senderCount = new AtomicInteger();
+        this.senders = Executors.newFixedThreadPool(Math.max(1, senderThreads), task -> {
+            Thread thread = new Thread(task, "catalog-events-sender-" + senderCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.heartbeat = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "catalog-events-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long millis = Math.max(1, heartbeatInterval.toMillis());
+        heartbeat.scheduleWithFixedDelay(this::sendHeartbeats, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public SseEmitter subscribe(Long categoryId, String lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Subscriber subscriber = new Subscriber(emitter, categoryId, queueCapacity);
+
+        // Step 1: Replay and registration under the same lock, no change can fall between the two.
+        lock.lock();
+        try {
+            if (lastEventId != null && !lastEventId.isBlank()) {
+                replayAfter(lastEventId.trim(), subscriber);
+            }
+            subscribers.add(subscriber);
+        } finally {
+            lock.unlock();
+        }
+
+        // Step 2: Unregister however the stream ends (client gone, timeout, error).
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(error -> remove(subscriber));
+
+        drain(subscriber);
+        return emitter;
+    }
+
+    @Override
+    public int subscriberCount() {
+        lock.lock();
+        try {
+            return subscribers.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // ================= PUBLISH =================
+
+    // after commit when published inside a transaction (bulk import), a client never sees a rolled back change
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        String type = "product." + event.getType().name().toLowerCase();
+        publish(seq -> new CatalogChangeMessage(seq, type, event.getProductId(), event.getCategoryId(),
+                event.getPreviousCategoryId(), event.getProduct(), List.of()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        String type = "category." + event.getType().name().toLowerCase();
+        publish(seq -> new CatalogChangeMessage(seq, type, null, event.getCategoryId(),
+                null, null, event.getRemovedProductIds()));
+    }
+
+    private void publish(LongFunction<CatalogChangeMessage> message) {
+        List<Subscriber> ready = new ArrayList<>();
+        lock.lock();
+        try {
+            CatalogChangeMessage change = message.apply(++seq);
+            replay[(int) (change.getSeq() % replay.length)] = change;
+            for (Subscriber subscriber : subscribers) {
+                if (!subscriber.matches(change)) continue;
+                if (subscriber.queue.offer(change)) {
+                    ready.add(subscriber);
+                } else {
+                    // too slow: drop what is queued, tell it to reconnect, it resumes from its Last-Event-ID
+                    subscriber.overflow = true;
+                    subscriber.queue.clear();
+                    dropped.increment();
+                    ready.add(subscriber);
+                }
+            }
+            subscribers.removeIf(subscriber -> subscriber.overflow);
+        } finally {
+            lock.unlock();
+        }
+        published.increment();
+        ready.forEach(this::drain);
+    }
+
+    // caller holds the lock
+    private void replayAfter(String lastEventId, Subscriber subscriber) {
+        long lastSeq = sequenceOf(lastEventId);
+        long oldest = Math.max(1, seq - replay.length + 1);
+        if (lastSeq < 0 || lastSeq > seq || lastSeq < oldest - 1) {
+            subscriber.queue.offer(new Reset(seq));
+            return;
+        }
+        List<CatalogChangeMessage> missed = new ArrayList<>();
+        for (long next = lastSeq + 1; next <= seq; next++) {
+            CatalogChangeMessage change = replay[(int) (next % replay.length)];
+            if (subscriber.matches(change)) missed.add(change);
+        }
+        if (missed.size() > queueCapacity) {
+            subscriber.queue.offer(new Reset(seq));
+        } else {
+            subscriber.queue.addAll(missed);
+        }
+    }
+
+    // seq of an id of this run, -1 for an id of an earlier run or anything else
+    private long sequenceOf(String eventId) {
+        String prefix = epoch + "-";
+        if (!eventId.startsWith(prefix)) return -1;
+        try {
+            return Long.parseLong(eventId.substring(prefix.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private String eventId(long seq) {
+        return epoch + "-" + seq;
+    }
+
+    // ================= DELIVERY =================
+
+    // at most one drain per subscriber at a time, started by whoever queued something
+    private void drain(Subscriber subscriber) {
+        if (subscriber.queue.isEmpty() && !subscriber.overflow) return;
+        if (!subscriber.draining.compareAndSet(false, true)) return;
+        senders.execute(() -> {
+            do {
+                try {
+                    Object next;
+                    while ((next = subscriber.queue.poll()) != null) {
+                        send(subscriber.emitter, next);
+                    }
+                    if (subscriber.overflow) {
+                        subscriber.emitter.send(SseEmitter.event().name("overflow")
+                                .data(Map.of("reason", "client too slow, reconnect with Last-Event-ID"), MediaType.APPLICATION_JSON));
+                        subscriber.emitter.complete();
+                        return;
+                    }
+                } catch (IOException | IllegalStateException e) {
+                    // client went away or the stream is already completed
+                    remove(subscriber);
+                    subscriber.emitter.completeWithError(e);
+                    return;
+                } finally {
+                    subscriber.draining.set(false);
+                }
+            // overflow too: publish() may have set it (and cleared the queue) after the check above,
+            // its own drain() found this one still running
+            } while ((!subscriber.queue.isEmpty() || subscriber.overflow) && subscriber.draining.compareAndSet(false, true));
+        });
+    }
+
+    private void send(SseEmitter emitter, Object item) throws IOException {
+        if (item == HEARTBEAT) {
+            emitter.send(SseEmitter.event().comment("heartbeat"));
+        } else if (item instanceof Reset reset) {
+            emitter.send(SseEmitter.event().id(eventId(reset.seq)).name("reset")
+                    .data(Map.of("seq", reset.seq), MediaType.APPLICATION_JSON));
+        } else {
+            CatalogChangeMessage change = (CatalogChangeMessage) item;
+            emitter.send(SseEmitter.event().id(eventId(change.getSeq())).name(change.getType())
+                    .data(change, MediaType.APPLICATION_JSON));
+        }
+    }
+
+    private void sendHeartbeats() {
+        List<Subscriber> current;
+        lock.lock();
+        try {
+            current = List.copyOf(subscribers);
+        } finally {
+            lock.unlock();
+        }
+        for (Subscriber subscriber : current) {
+            if (subscriber.queue.isEmpty() && subscriber.queue.offer(HEARTBEAT)) {
+                drain(subscriber);
+            }
+        }
+    }
+
+    private void remove(Subscriber subscriber) {
+        lock.lock();
+        try {
+            subscribers.remove(subscriber);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeat.shutdownNow();
+        List<Subscriber> current;
+        lock.lock();
+        try {
+            current = List.copyOf(subscribers);
+            subscribers.clear();
+        } finally {
+            lock.unlock();
+        }
+        current.forEach(subscriber -> subscriber.emitter.complete());
+        senders.shutdown();
+    }
+
+    private static final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final Long categoryId;
+        private final ArrayBlockingQueue<Object> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean overflow;
+
+        private Subscriber(SseEmitter emitter, Long categoryId, int queueCapacity) {
+            this.emitter = emitter;
+            this.categoryId = categoryId;
+            this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        }
+
+        // no filter -> everything, otherwise changes in that category and products moving out of it
+        private boolean matches(CatalogChangeMessage change) {
+            return categoryId == null
+                    || Objects.equals(categoryId, change.getCategoryId())
+                    || Objects.equals(categoryId, change.getPreviousCategoryId());
+        }
+    }
+
+    // the requested Last-Event-ID is no longer (or not yet) in the replay buffer, the client must reload
+    private static final class Reset {
+
+        private final long seq;
+
+        private Reset(long seq) {
+            this.seq = seq;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.categories.product.serviceImpl;
+
+import com.categories.product.config.MetricsConfig;
+import com.categories.product.datasource.PrimaryReads;
+import com.categories.product.dto.categoryDTO.CategoryResponse;
+import com.categories.product.dto.syncDTO.CatalogChange;
+import com.categories.product.dto.syncDTO.CatalogChangesResponse;
+import com.categories.product.entities.CatalogTombstone;
+import com.categories.product.mapper.ProductMapper;
+import com.categories.product.repositories.CatalogTombstoneRepository;
+import com.categories.product.repositories.CategoryChangeView;
+import com.categories.product.repositories.CategoryRepository;
+import com.categories.product.repositories.ProductChangeView;
+import com.categories.product.repositories.ProductRepository;
+import com.categories.product.services.CatalogSyncService;
+import com.categories.product.sync.ChangeSequence;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+@Service
+@Timed(value = MetricsConfig.SERVICE_TIMER, histogram = true, percentiles = {0.5, 0.99, 0.999})
+public class CatalogSyncServiceImpl implements CatalogSyncService {
+
+    private final ProductRepository productRepository;
+    private final CategoryRepository categoryRepository;
+    private final CatalogTombstoneRepository catalogTombstoneRepository;
+    private final ChangeSequence changeSequence;
+    private final PrimaryReads primaryReads;
+
+    private final int defaultSize;
+    private final int maxSize;
+
+    public CatalogSyncServiceImpl(
+            ProductRepository productRepository,
+            CategoryRepository categoryRepository,
+            CatalogTombstoneRepository catalogTombstoneRepository,
+            ChangeSequence changeSequence,
+            PrimaryReads primaryReads,
+            @Value("${catalog.sync.default-size:500}") int defaultSize,
+            @Value("${catalog.sync.max-size:1000}") int maxSize
+    ) {
+        this.productRepository = productRepository;
+        this.categoryRepository = categoryRepository;
+        this.catalogTombstoneRepository = catalogTombstoneRepository;
+        this.changeSequence = changeSequence;
+        this.primaryReads = primaryReads;
+        this.defaultSize = defaultSize;
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    public CatalogChangesResponse getChanges(Long since, Integer size) {
+        long from = since == null || since < 0 ? 0 : since;
+        int pageSize = size == null || size <= 0 ? defaultSize : Math.min(size, maxSize);
+
+        // Step 1: Upper bound BEFORE reading, everything up to it is committed and visible to the queries below.
+        long until = changeSequence.stable();
+        if (from >= until) {
+            return new CatalogChangesResponse(new ArrayList<>(), from, false);
+        }
+
+        // Step 2: pageSize + 1 of each kind (three index range scans), the extra row tells whether more are waiting.
+        // On the primary: a lagging replica may not show everything up to until yet, nextSince would skip it for good.
+        List<CatalogChange> changes = primaryReads.get(() -> findChanges(from, until, Limit.of(pageSize + 1)));
+
+        // Step 3: Merge by sequence and cut the page, without more pages the caller can jump straight to until.
+        changes.sort(Comparator.comparingLong(CatalogChange::getSeq));
+        boolean hasMore = changes.size() > pageSize;
+        List<CatalogChange> page = hasMore ? new ArrayList<>(changes.subList(0, pageSize)) : changes;
+        long nextSince = hasMore ? page.get(page.size() - 1).getSeq() : until;
+        return new CatalogChangesResponse(page, nextSince, hasMore);
+    }
+
+    private List<CatalogChange> findChanges(long from, long until, Limit limit) {
+        List<CatalogChange> changes = new ArrayList<>();
+        for (ProductChangeView row : productRepository.findChangesBetween(from, until, limit)) {
+            changes.add(new CatalogChange(row.getChangeSeq(), CatalogTombstone.PRODUCT, row.getId(), false,
+                    row.getCategoryId(), ProductMapper.toProductResponse(row), null));
+        }
+        for (CategoryChangeView row : categoryRepository.findChangesBetween(from, until, limit)) {
+            CategoryResponse category = new CategoryResponse(row.getId(), row.getName(), (Long) null);
+            category.setProducts(null);
+            changes.add(new CatalogChange(row.getChangeSeq(), CatalogTombstone.CATEGORY, row.getId(), false,
+                    null, null, category));
+        }
+        for (CatalogTombstone tombstone : catalogTombstoneRepository.findChangesBetween(from, until, limit)) {
+            changes.add(new CatalogChange(tombstone.getSeq(), tombstone.getEntityType(), tombstone.getEntityId(), true,
+                    tombstone.getCategoryId(), null, null));
+        }
+        return changes;
+    }
+}
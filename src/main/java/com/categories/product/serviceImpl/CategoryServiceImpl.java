@@ -1,24 +1,57 @@
 package com.categories.product.serviceImpl; // Declares the package where this class resides.
 
+import com.categories.product.cache.CatalogWriteVersion; // Imports the catalog write counter behind the list ETag.
+import com.categories.product.cache.EntityCache; // Imports the read-through category summary cache.
+import com.categories.product.config.MetricsConfig; // Imports the metric name shared by all service timers.
 import com.categories.product.dto.categoryDTO.CategoryRequest; // Imports the DTO for incoming category data (input for create/update).
 import com.categories.product.dto.categoryDTO.CategoryResponse; // Imports the DTO for outgoing category data (response after operation).
+import com.categories.product.dto.productDTO.ProductResponse; // Imports the DTO for product data nested inside a category response.
 import com.categories.product.entities.Category; // Imports the JPA Entity class representing the 'Category' table.
+import com.categories.product.event.CategoryChangedEvent; // Imports the event published after every category write.
 import com.categories.product.exception.CategoryAlreadyExistsException;
+import com.categories.product.exception.CategoryNotFoundException;
 import com.categories.product.mapper.CategoryMapper; // Imports the class responsible for mapping DTOs to Entities and vice-versa.
+import com.categories.product.mapper.ETagMapper; // Imports the helper that formats ETags from version stamps.
+import com.categories.product.mapper.ProductMapper; // Imports the mapper used for the (optional) nested products.
 import com.categories.product.repositories.CategoryRepository; // Imports the Spring Data JPA repository for Category entity operations.
+import com.categories.product.repositories.ProductRepository; // Imports the Spring Data JPA repository used to load bounded nested products.
+import com.categories.product.repositories.VersionStamp; // Imports the aggregate (count, version sum, max id) used for ETags.
 import com.categories.product.services.CategoryService; // Imports the CategoryService interface that this class implements.
+import io.micrometer.core.annotation.Timed; // Imports Micrometer's @Timed, recorded by the TimedAspect.
 import org.springframework.beans.factory.annotation.Autowired; // Imports Spring's Autowired annotation for dependency injection.
+import org.springframework.context.ApplicationEventPublisher; // Imports the Spring publisher used to announce category changes to caches.
+import org.springframework.data.domain.Limit; // Imports Spring Data's Limit, used to cap the number of nested products.
 import org.springframework.stereotype.Service; // Imports Spring annotation marking this class as a Service component.
+import org.springframework.transaction.annotation.Transactional; // Imports @Transactional, read-only service calls are routed to a read replica.
 
 import java.util.List; // Imports the standard Java List collection.
+import java.util.Map; // Imports Map, used to group nested products by category id.
 import java.util.Optional; // Imports the Optional class, used for methods that might not return a value (e.g., findById).
+import java.util.stream.Collectors; // Imports Collectors, used for grouping nested products.
 
 @Service // Marks this class as a Spring Service, indicating it holds the business logic.
+@Timed(value = MetricsConfig.SERVICE_TIMER, histogram = true, percentiles = {0.5, 0.99, 0.999}) // Times every public method (tags: class, method, exception).
 public class CategoryServiceImpl implements CategoryService { // Defines the implementation class for the CategoryService interface.
 
+    // Nested products are opt-in (?include=products) and always bounded by ?limit=
+    public static final int DEFAULT_PRODUCT_LIMIT = 20;
+    public static final int MAX_PRODUCT_LIMIT = 100;
+
     @Autowired // Injects the CategoryRepository dependency, allowing database interaction.
     private CategoryRepository categoryRepository;
 
+    @Autowired // Injects the ProductRepository dependency, used only when nested products are requested.
+    private ProductRepository productRepository;
+
+    @Autowired // Injects the read-through cache for category summaries by id.
+    private EntityCache entityCache;
+
+    @Autowired // Injects the catalog write counter, bumped by every product / category change.
+    private CatalogWriteVersion catalogWriteVersion;
+
+    @Autowired // Injects the event publisher, every write publishes a CategoryChangedEvent so caches stay in sync.
+    private ApplicationEventPublisher eventPublisher;
+
     // The CategoryRequest typically contains only category name (and potentially products, depending on design)
     // but not the ID. The CategoryResponse will include the generated ID along with other data.
     @Override // Indicates that this method is an implementation of a method from the interface.
@@ -47,7 +80,10 @@ public class CategoryServiceImpl implements CategoryService { // Defines the imp
         // Step 3: Save the Category Entity to the database. The repository handles generating the ID.
         Category savedCategory = categoryRepository.save(category);
 
-        // Step 4: Convert the saved Category Entity (now including the ID) to a CategoryResponse DTO and return it.
+        // Step 4: Notify listeners about the new category.
+        eventPublisher.publishEvent(CategoryChangedEvent.created(savedCategory.getId()));
+
+        // Step 5: Convert the saved Category Entity (now including the ID) to a CategoryResponse DTO and return it.
         return CategoryMapper.toCategoryResponse(savedCategory);
     }
 
@@ -61,29 +97,85 @@ public class CategoryServiceImpl implements CategoryService { // Defines the imp
 
     @Override // Indicates that this method is an implementation of a method from the interface.
     public void deleteCategory(Integer id) {
-        // Use the repository to delete the Category entity corresponding to the given ID.
+        // Step 1: Collect the ids of the products that the delete will cascade to (ids only, no entities).
+        List<Long> productIds = productRepository.findIdsByCategoryId(id.longValue());
+
+        // Step 2: Use the repository to delete the Category entity corresponding to the given ID.
         categoryRepository.deleteById(id);
 
+        // Step 3: Notify listeners so the category and all of its products are dropped from the caches.
+        eventPublisher.publishEvent(CategoryChangedEvent.deleted(id.longValue(), productIds));
     }
 
     @Override // Indicates that this method is an implementation of a method from the interface.
-    public CategoryResponse getCategoryById(Long id) {
-        // Step 1: Find the Category entity by its ID (using Long ID from method signature).
-        // Math.toIntExact(id) converts the Long ID to an Integer ID (assuming the repository expects Integer).
-        // .orElseThrow(...) fetches the category if present, otherwise throws a RuntimeException.
-        Category category = categoryRepository.findById(Math.toIntExact(id)).orElseThrow(()->new RuntimeException("No category is found"));
-        // Step 2: Convert the found Category Entity to a CategoryResponse DTO and return it.
-        return CategoryMapper.toCategoryResponse(category);
+    @Transactional(readOnly = true) // One read-only transaction for the whole call: a replica when configured (DataSourceConfig), no pool checkout on a cache hit.
+    public CategoryResponse getCategoryById(Long id, boolean includeProducts, Integer productLimit) {
+        // Step 1: Load the summary (id, name, product count) through the entity cache,
+        // a miss runs one aggregate query, no product rows are hydrated.
+        CategoryResponse summary = entityCache.getCategory(id, categoryId -> categoryRepository.findSummaryById(categoryId)
+                .orElseThrow(() -> new CategoryNotFoundException("Category id " + ":" + id + " " + " not found")));
+
+        // Step 2: The cached summary is shared, so work on a copy.
+        CategoryResponse category = new CategoryResponse(summary.getId(), summary.getName(), summary.getProductCount());
+
+        // Step 3: Attach the first N products only when the caller asked for them.
+        if (includeProducts) {
+            // Projected straight into DTOs, no Product entities are hydrated.
+            category.setProducts(productRepository
+                    .findResponsesByCategoryAfter(id, 0L, Limit.of(resolveProductLimit(productLimit))));
+        }
+        return category;
     }
 
     @Override // Indicates that this method is an implementation of a method from the interface.
-    public List<CategoryResponse> getAllCategories() {
-        // The map operation is used to transform (or map) data from one type (Category Entity) to another (CategoryResponse DTO).
-        // Step 1: Fetch all Category entities from the database.
-        return categoryRepository.findAll().stream()
-                // Step 2: Map each Category entity to a CategoryResponse DTO using the mapper.
-                .map(CategoryMapper::toCategoryResponse)
-                // Step 3: Collect the resulting DTOs into a List and return it.
-                .toList();
+    @Transactional(readOnly = true) // Read-only transaction, same routing as above.
+    public List<CategoryResponse> getAllCategories(boolean includeProducts, Integer productLimit) {
+        // Step 1: One aggregate query returns every category with its product count (the storefront menu needs only this).
+        List<CategoryResponse> categories = categoryRepository.findAllSummaries();
+
+        if (!includeProducts || categories.isEmpty()) {
+            return categories;
+        }
+
+        // Step 2: ?include=products -> fetch the first N products of ALL categories in one windowed query
+        // (instead of one query per category), then group them by category id.
+        List<Long> categoryIds = categories.stream().map(CategoryResponse::getId).toList();
+        Map<Long, List<ProductResponse>> productsByCategory = productRepository
+                .findFirstProductsOfCategories(categoryIds, resolveProductLimit(productLimit))
+                .stream()
+                .map(ProductMapper::toProductResponse)
+                .collect(Collectors.groupingBy(ProductResponse::getCategoryId));
+
+        // Step 3: Attach each group to its category (empty list for categories without products).
+        categories.forEach(category ->
+                category.setProducts(productsByCategory.getOrDefault(category.getId(), List.of())));
+        return categories;
+    }
+
+    @Override // Indicates that this method is an implementation of a method from the interface.
+    @Transactional(readOnly = true) // Read-only transaction, same routing as above.
+    public String getCategoryETag(Long id, boolean includeProducts, Integer productLimit) {
+        // One aggregate query: the category version plus (count, version sum, max id) of its products.
+        // An unknown category is a 404 here already, the same answer the full GET would give.
+        VersionStamp stamp = categoryRepository.findVersionStampById(id)
+                .orElseThrow(() -> new CategoryNotFoundException("Category id " + ":" + id + " " + " not found"));
+        return ETagMapper.forCategory(id, stamp, representation(includeProducts, productLimit));
+    }
+
+    @Override // Indicates that this method is an implementation of a method from the interface.
+    public String getAllCategoriesETag(boolean includeProducts, Integer productLimit) {
+        // No query: product counts and nested products change with any product, the write counter covers them all.
+        return ETagMapper.forCategoryList(catalogWriteVersion.token(), representation(includeProducts, productLimit));
+    }
+
+    // Part of the ETag, ?include=products&limit=5 and the plain summary are different bodies.
+    private static String representation(boolean includeProducts, Integer productLimit) {
+        return includeProducts ? "products" + resolveProductLimit(productLimit) : "summary";
+    }
+
+    // Missing limit -> default, anything above the maximum is clamped (also used for the ResponseCacheFilter key).
+    public static int resolveProductLimit(Integer productLimit) {
+        if (productLimit == null || productLimit <= 0) return DEFAULT_PRODUCT_LIMIT;
+        return Math.min(productLimit, MAX_PRODUCT_LIMIT);
     }
-}
\ No newline at end of file
+}
@@ -4,6 +4,7 @@ import com.categories.product.entities.User;
 import com.categories.product.exception.UserNotFoundException;
 import com.categories.product.repositories.UserRepository;
 import com.categories.product.security.UserPrincipal;
+import com.categories.product.security.UserPrincipalCache;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -15,14 +16,22 @@ import java.util.Optional;
 public class CustomUserDetailsService implements UserDetailsService {
 
     private final UserRepository userRepository;
+    private final UserPrincipalCache userPrincipalCache;
 
-    public CustomUserDetailsService(UserRepository userRepository) {
+    public CustomUserDetailsService(UserRepository userRepository, UserPrincipalCache userPrincipalCache) {
         this.userRepository = userRepository;
+        this.userPrincipalCache = userPrincipalCache;
     }
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
 
+        // 🔹 Served from UserPrincipalCache when security.user-cache.enabled=true
+        return userPrincipalCache.get(username, this::loadFromDatabase);
+    }
+
+    private UserPrincipal loadFromDatabase(String username) {
+
         Optional<User> user = userRepository.findByUsername(username);
 
         if (!user.isPresent()) {
@@ -1,32 +1,96 @@
 package com.categories.product.serviceImpl;
 
+import com.categories.product.config.MetricsConfig;
 import com.categories.product.dto.userDTO.UserRequestDTO;
 import com.categories.product.dto.userDTO.UserResponseDTO;
 import com.categories.product.entities.User;
+import com.categories.product.exception.InvalidCredentialsException;
 import com.categories.product.mapper.UserMapper;
 import com.categories.product.repositories.UserRepository;
+import com.categories.product.security.PasswordHashingExecutor;
+import com.categories.product.security.UserPrincipal;
 import com.categories.product.services.MyUserDetailsService;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import com.categories.product.services.RefreshTokenService;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+// both methods return a CompletableFuture, the TimedAspect stops the timer when it completes (BCrypt included)
 @Service
+@Timed(value = MetricsConfig.SERVICE_TIMER, histogram = true, percentiles = {0.5, 0.99, 0.999})
 public class MyUserDetailsServiceImpl implements MyUserDetailsService {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final CustomUserDetailsService customUserDetailsService;
+    private final PasswordHashingExecutor passwordHashingExecutor;
+    private final RefreshTokenService refreshTokenService;
+    // blocking work after a hash (INSERTs) goes back to the application executor, the hashing threads stay on BCrypt
+    private final Executor taskExecutor;
 
     public MyUserDetailsServiceImpl(UserRepository userRepository,
-                                    PasswordEncoder passwordEncoder) {
+                                    CustomUserDetailsService customUserDetailsService,
+                                    PasswordHashingExecutor passwordHashingExecutor,
+                                    RefreshTokenService refreshTokenService,
+                                    @Qualifier("applicationTaskExecutor") Executor taskExecutor) {
         this.userRepository = userRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.customUserDetailsService = customUserDetailsService;
+        this.passwordHashingExecutor = passwordHashingExecutor;
+        this.refreshTokenService = refreshTokenService;
+        this.taskExecutor = taskExecutor;
     }
 
     @Override
-    public UserResponseDTO registerUser(UserRequestDTO dto) {
+    public CompletableFuture<UserResponseDTO> registerUser(UserRequestDTO dto) {
 
         User user = UserMapper.toEntity(dto);
-        user.setPassword(passwordEncoder.encode(user.getPassword()));
 
-        return UserMapper.toResponseDTO(userRepository.save(user));
+        // Step 1: BCrypt encode on the hashing pool (503 right away when its queue is full).
+        // Step 2: Save, the saved entity already carries the roles, no second lookup needed.
+        // Step 3: First refresh token of the new user.
+        return passwordHashingExecutor.encode(user.getPassword())
+                .thenApplyAsync(hash -> {
+                    user.setPassword(hash);
+                    UserResponseDTO response = UserMapper.toResponseDTO(userRepository.save(user));
+                    response.setRefreshToken(refreshTokenService.issueToken(response.getId()));
+                    return response;
+                }, taskExecutor);
+    }
+
+    @Override
+    public CompletableFuture<UserResponseDTO> authenticate(UserRequestDTO dto) {
+
+        // Step 1: The only user lookup of a login (served from UserPrincipalCache when enabled).
+        UserPrincipal principal = findPrincipal(dto.getUsername());
+
+        // Step 2: BCrypt check on the hashing pool, an unknown user is checked against a dummy hash
+        // so both failures take the same time and look the same to the caller.
+        // Step 3: New refresh token family (INSERT on the application executor).
+        return passwordHashingExecutor.matches(dto.getPassword(), principal == null ? null : principal.getPassword())
+                .thenApplyAsync(matches -> {
+                    if (!matches) {
+                        throw new InvalidCredentialsException("Invalid username or password");
+                    }
+                    List<String> roles = principal.getAuthorities().stream()
+                            .map(GrantedAuthority::getAuthority)
+                            .toList();
+                    UserResponseDTO response = new UserResponseDTO(principal.getId(), principal.getUsername(), null, roles);
+                    response.setRefreshToken(refreshTokenService.issueToken(principal.getId()));
+                    return response;
+                }, taskExecutor);
+    }
+
+    private UserPrincipal findPrincipal(String username) {
+        if (username == null) return null;
+        try {
+            return (UserPrincipal) customUserDetailsService.loadUserByUsername(username);
+        } catch (UsernameNotFoundException e) {
+            return null;
+        }
     }
 }
@@ -0,0 +1,131 @@
+package com.categories.product.serviceImpl;
+
+import com.categories.product.config.MetricsConfig;
+import com.categories.product.dto.productDTO.BulkProductResponse;
+import com.categories.product.dto.productDTO.BulkProductResult;
+import com.categories.product.dto.productDTO.ProductRequest;
+import com.categories.product.entities.Category;
+import com.categories.product.entities.Product;
+import com.categories.product.event.ProductChangedEvent;
+import com.categories.product.exception.BulkRequestTooLargeException;
+import com.categories.product.mapper.ProductMapper;
+import com.categories.product.repositories.CategoryRepository;
+import com.categories.product.services.ProductBulkService;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@Timed(value = MetricsConfig.SERVICE_TIMER, histogram = true, percentiles = {0.5, 0.99, 0.999})
+public class ProductBulkServiceImpl implements ProductBulkService {
+
+    private final CategoryRepository categoryRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // rows written (and committed) per transaction, hibernate.jdbc.batch_size splits it further into JDBC batches
+    private final int batchSize;
+    private final int maxItems;
+
+    public ProductBulkServiceImpl(
+            CategoryRepository categoryRepository,
+            EntityManager entityManager,
+            PlatformTransactionManager transactionManager,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${catalog.bulk.batch-size:1000}") int batchSize,
+            @Value("${catalog.bulk.max-items:10000}") int maxItems
+    ) {
+        this.categoryRepository = categoryRepository;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.batchSize = batchSize;
+        this.maxItems = maxItems;
+    }
+
+    @Override
+    public BulkProductResponse createProducts(List<ProductRequest> requests) {
+        if (requests.size() > maxItems) {
+            throw new BulkRequestTooLargeException(
+                    "Bulk request has " + requests.size() + " items, maximum is " + maxItems);
+        }
+
+        BulkProductResult[] results = new BulkProductResult[requests.size()];
+
+        // Step 1: Resolve every distinct category id with ONE "WHERE id IN (...)" query.
+        Set<Long> categoryIds = requests.stream()
+                .filter(Objects::nonNull)
+                .map(ProductRequest::getCategoryId)
+                .filter(Objects::nonNull)
+                .map(Integer::longValue)
+                .collect(Collectors.toSet());
+        Map<Long, Category> categories = categoryRepository.findByIdIn(categoryIds).stream()
+                .collect(Collectors.toMap(Category::getId, Function.identity()));
+
+        // Step 2: Reject items with a missing / unknown category up front, they never reach the database.
+        List<Integer> validIndexes = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            ProductRequest request = requests.get(i);
+            if (request == null) {
+                results[i] = BulkProductResult.rejected(i, "Item is empty");
+            } else if (request.getCategoryId() == null) {
+                results[i] = BulkProductResult.rejected(i, "categoryId is required");
+            } else if (!categories.containsKey(request.getCategoryId().longValue())) {
+                results[i] = BulkProductResult.rejected(i, "Category id :" + request.getCategoryId() + " not found");
+            } else {
+                validIndexes.add(i);
+            }
+        }
+
+        // Step 3: Insert the valid items chunk by chunk, each chunk in its own transaction.
+        // A failing chunk is reported as FAILED and does not roll back the chunks before it.
+        for (int from = 0; from < validIndexes.size(); from += batchSize) {
+            List<Integer> chunk = validIndexes.subList(from, Math.min(from + batchSize, validIndexes.size()));
+            try {
+                List<Product> saved = transactionTemplate.execute(status -> insertChunk(requests, chunk));
+                for (int i = 0; i < chunk.size(); i++) {
+                    Product product = saved.get(i);
+                    results[chunk.get(i)] = BulkProductResult.created(chunk.get(i), product.getId());
+                    eventPublisher.publishEvent(ProductChangedEvent.created(ProductMapper.toProductResponse(product)));
+                }
+            } catch (RuntimeException e) {
+                for (Integer index : chunk) {
+                    results[index] = BulkProductResult.failed(index, e.getMessage());
+                }
+            }
+        }
+
+        return new BulkProductResponse(Arrays.asList(results));
+    }
+
+    // Persists one chunk. Ids come from the pooled product_seq generator (no round trip per row),
+    // so Hibernate can group the INSERTs into JDBC batches, flush + clear keeps the persistence context small.
+    private List<Product> insertChunk(List<ProductRequest> requests, List<Integer> chunk) {
+        List<Product> products = new ArrayList<>(chunk.size());
+        for (Integer index : chunk) {
+            ProductRequest request = requests.get(index);
+            // getReference -> no SELECT, only the foreign key is needed
+            Category category = entityManager.getReference(Category.class, request.getCategoryId().longValue());
+            Product product = ProductMapper.toProductEntity(request, category);
+            entityManager.persist(product);
+            products.add(product);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return products;
+    }
+}
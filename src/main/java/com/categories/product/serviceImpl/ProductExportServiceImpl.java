@@ -0,0 +1,79 @@
+package com.categories.product.serviceImpl;
+
+import com.categories.product.config.MetricsConfig;
+import com.categories.product.datasource.ReadRouting;
+import com.categories.product.entities.Product;
+import com.categories.product.mapper.ProductMapper;
+import com.categories.product.repositories.ProductRepository;
+import com.categories.product.services.ProductExportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Service
+@Timed(value = MetricsConfig.SERVICE_TIMER, histogram = true, percentiles = {0.5, 0.99, 0.999})
+public class ProductExportServiceImpl implements ProductExportService {
+
+    private static final byte NEWLINE = '\n';
+
+    private final ProductRepository productRepository;
+    private final EntityManager entityManager;
+    private final ObjectWriter writer;
+
+    // every N rows: clear the persistence context and flush the output
+    private final int clearEvery;
+
+    public ProductExportServiceImpl(
+            ProductRepository productRepository,
+            EntityManager entityManager,
+            ObjectMapper objectMapper,
+            @Value("${catalog.export.clear-every:1000}") int clearEvery
+    ) {
+        this.productRepository = productRepository;
+        this.entityManager = entityManager;
+        this.writer = objectMapper.writer();
+        this.clearEvery = clearEvery;
+    }
+
+    @Override
+    @Transactional(readOnly = true)   // the JPA stream (and its cursor) lives as long as this transaction
+    public void exportProducts(OutputStream out) throws IOException {
+        // the connection is only taken at the first statement, the stream below runs on the export pool (cursor fetch)
+        ReadRouting.beginExport();
+        try (Stream<Product> products = productRepository.streamAllOrderById()) {
+            Iterator<Product> iterator = products.iterator();
+            long written = 0;
+
+            while (iterator.hasNext()) {
+                Product product = iterator.next();
+
+                // Step 1: entity -> DTO -> one JSON line (category id is read from the proxy, no extra query)
+                out.write(writer.writeValueAsBytes(ProductMapper.toProductResponse(product)));
+                out.write(NEWLINE);
+
+                // Step 2: nothing keeps a reference to the row once it is written
+                entityManager.detach(product);
+                written++;
+
+                // Step 3: first line goes out right away, then the output is flushed every N rows;
+                // clearing the persistence context also drops the category proxies.
+                if (written == 1 || written % clearEvery == 0) {
+                    entityManager.clear();
+                    out.flush();
+                }
+            }
+            out.flush();
+        } finally {
+            ReadRouting.endExport();
+        }
+    }
+}
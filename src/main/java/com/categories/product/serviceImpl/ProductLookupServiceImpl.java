@@ -0,0 +1,82 @@
+package com.categories.product.serviceImpl;
+
+import com.categories.product.cache.EntityCache;
+import com.categories.product.config.MetricsConfig;
+import com.categories.product.dto.productDTO.ProductBatchResponse;
+import com.categories.product.dto.productDTO.ProductResponse;
+import com.categories.product.exception.BulkRequestTooLargeException;
+import com.categories.product.repositories.ProductRepository;
+import com.categories.product.services.ProductLookupService;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Service
+@Timed(value = MetricsConfig.SERVICE_TIMER, histogram = true, percentiles = {0.5, 0.99, 0.999})
+public class ProductLookupServiceImpl implements ProductLookupService {
+
+    private final ProductRepository productRepository;
+    private final EntityCache entityCache;
+
+    // ids per "IN (...)" query, keeps statements below driver / database parameter limits
+    private final int chunkSize;
+    private final int maxIds;
+
+    public ProductLookupServiceImpl(
+            ProductRepository productRepository,
+            EntityCache entityCache,
+            @Value("${catalog.multi-get.chunk-size:500}") int chunkSize,
+            @Value("${catalog.multi-get.max-ids:1000}") int maxIds
+    ) {
+        this.productRepository = productRepository;
+        this.entityCache = entityCache;
+        this.chunkSize = chunkSize;
+        this.maxIds = maxIds;
+    }
+
+    @Override
+    public ProductBatchResponse getProductsByIds(List<Long> ids) {
+        // Step 1: Distinct ids in request order, nulls are ignored.
+        Set<Long> requested = new LinkedHashSet<>();
+        for (Long id : ids == null ? List.<Long>of() : ids) {
+            if (id != null) requested.add(id);
+        }
+        if (requested.size() > maxIds) {
+            throw new BulkRequestTooLargeException(
+                    "Request has " + requested.size() + " ids, maximum is " + maxIds);
+        }
+
+        // Step 2: Entity cache first, only the misses are loaded (and cached) through the chunked IN queries.
+        Map<Long, ProductResponse> found = entityCache.getProducts(requested, this::findByIds);
+
+        // Step 3: Back to request order, everything not found is reported as missing.
+        List<ProductResponse> items = new ArrayList<>(found.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : requested) {
+            ProductResponse product = found.get(id);
+            if (product != null) items.add(product);
+            else missingIds.add(id);
+        }
+        return new ProductBatchResponse(items, missingIds);
+    }
+
+    private Map<Long, ProductResponse> findByIds(Set<Long> ids) {
+        List<Long> keys = List.copyOf(ids);
+
+        Map<Long, ProductResponse> loaded = new HashMap<>();
+        for (int from = 0; from < keys.size(); from += chunkSize) {
+            List<Long> chunk = keys.subList(from, Math.min(from + chunkSize, keys.size()));
+            for (ProductResponse product : productRepository.findResponsesByIdIn(chunk)) {
+                loaded.put(product.getId(), product);
+            }
+        }
+        return loaded;
+    }
+}
@@ -1,21 +1,41 @@
 package com.categories.product.serviceImpl; // Declares the package where this class resides.
 
+import com.categories.product.cache.CategoryProductsCache; // Imports the per-category page cache used by category browse.
+import com.categories.product.cache.EntityCache; // Imports the read-through product-by-id cache.
+import com.categories.product.config.MetricsConfig; // Imports the metric name shared by all service timers.
+import com.categories.product.dto.pageDTO.CursorPageResponse; // Imports the DTO used for one keyset paginated page of results.
+import com.categories.product.dto.productDTO.PriceRangeResponse; // Imports the DTO used for one page of a price range query.
 import com.categories.product.dto.productDTO.ProductRequest; // Imports the DTO (Data Transfer Object) used for incoming product data (from the frontend/client).
 import com.categories.product.dto.productDTO.ProductResponse; // Imports the DTO used for outgoing product data (to the frontend/client).
+import com.categories.product.dto.productDTO.ProductSearchResponse; // Imports the DTO used for one page of search results.
 import com.categories.product.entities.Category; // Imports the JPA Entity class representing the 'Category' table in the database.
 import com.categories.product.entities.Product; // Imports the JPA Entity class representing the 'Product' table in the database.
+import com.categories.product.event.ProductChangedEvent; // Imports the event published after every product write.
 import com.categories.product.exception.CategoryNotFoundException;
+import com.categories.product.exception.InvalidPriceRangeException;
+import com.categories.product.mapper.CursorMapper; // Imports the helper that encodes/decodes opaque page cursors.
 import com.categories.product.mapper.ProductMapper; // Imports the class responsible for converting between DTOs and Entities (Mapper).
 import com.categories.product.repositories.CategoryRepository; // Imports the Spring Data JPA repository interface for Category entity operations.
 import com.categories.product.repositories.ProductRepository; // Imports the Spring Data JPA repository interface for Product entity operations.
+import com.categories.product.search.ProductPriceIndex; // Imports the in-memory sorted price index.
+import com.categories.product.search.ProductSearchIndex; // Imports the in-memory full text index over product name and description.
+import com.categories.product.services.ProductLookupService; // Imports the multi-get service used to load products for a list of ids.
 import com.categories.product.services.ProductService; // Imports the ProductService interface that this class implements.
+import com.categories.product.services.ProductWriteBehindService; // Imports the buffered (write-behind) update service.
+import io.micrometer.core.annotation.Timed; // Imports Micrometer's @Timed, recorded by the TimedAspect.
 import lombok.AllArgsConstructor; // Imports Lombok annotation to automatically generate a constructor with all fields as arguments.
 import org.springframework.beans.factory.annotation.Autowired; // Imports Spring's Autowired annotation (though @AllArgsConstructor often makes it redundant).
+import org.springframework.context.ApplicationEventPublisher; // Imports the Spring publisher used to announce product changes to caches.
+import org.springframework.data.domain.Limit; // Imports Spring Data's Limit, used to cap the number of rows a query returns.
 import org.springframework.stereotype.Service; // Imports Spring annotation marking this class as a Service component in the Spring application context.
+import org.springframework.transaction.annotation.Transactional; // Imports @Transactional, read-only service calls are routed to a read replica.
 
+import java.util.Arrays; // Imports Arrays, used to box the id array of a price range page.
 import java.util.List; // Imports the standard Java List collection.
+import java.util.function.Function; // Imports Function, identity mapper for pages that are already DTOs.
 
 @Service // Marks this class as a Spring Service, a business logic layer component.
+@Timed(value = MetricsConfig.SERVICE_TIMER, histogram = true, percentiles = {0.5, 0.99, 0.999}) // Times every public method (tags: class, method, exception).
 @AllArgsConstructor // Generates a constructor that takes all fields (repositories) as arguments for dependency injection.
 public class ProductServiceImpl implements ProductService { // Defines the implementation class for the ProductService interface.
 
@@ -23,6 +43,20 @@ public class ProductServiceImpl implements ProductService { // Defines the imple
     private ProductRepository productRepository;
     @Autowired // Inject the CategoryRepository dependency (used to interact with the Category table).
     private CategoryRepository categoryRepository;
+    @Autowired // Inject the per-category page cache (filled by getProductsByCategory, evicted through ProductChangedEvent).
+    private CategoryProductsCache categoryProductsCache;
+    @Autowired // Inject the read-through cache for getProductById (evicted through ProductChangedEvent / CategoryChangedEvent).
+    private EntityCache entityCache;
+    @Autowired // Inject the full text index (built at startup, kept current through ProductChangedEvent).
+    private ProductSearchIndex productSearchIndex;
+    @Autowired // Inject the sorted price index (built at startup, kept current through ProductChangedEvent).
+    private ProductPriceIndex productPriceIndex;
+    @Autowired // Inject the multi-get service (entity cache + chunked IN queries), used to turn index hits into products.
+    private ProductLookupService productLookupService;
+    @Autowired // Inject the write-behind buffer, a synchronous update replaces a buffered one of the same product.
+    private ProductWriteBehindService productWriteBehindService;
+    @Autowired // Inject the event publisher, every write publishes a ProductChangedEvent so caches stay in sync.
+    private ApplicationEventPublisher eventPublisher;
 
     @Override // Indicates that this method is an implementation of a method from the interface.
     public ProductResponse createProduct(ProductRequest productRequest) {
@@ -43,7 +77,11 @@ public class ProductServiceImpl implements ProductService { // Defines the imple
         Product savedProduct = productRepository.save(product);
 
         // Step 4: Convert the saved Product Entity back into a ProductResponse DTO to send back to the client.
-        return ProductMapper.toProductResponse(savedProduct);
+        ProductResponse response = ProductMapper.toProductResponse(savedProduct);
+
+        // Step 5: Tell listeners (category page cache, ...) that this category changed.
+        eventPublisher.publishEvent(ProductChangedEvent.created(response));
+        return response;
 
     }
 
@@ -52,9 +90,10 @@ public class ProductServiceImpl implements ProductService { // Defines the imple
         // Step 1: Find the existing Product by its ID from the path variable (id).
         // If not found, throw an exception. This ensures we are updating an existing product.
         Product product = productRepository.findById(id).orElseThrow(()->new RuntimeException("Product not found"));
-        // Note: The next line 'Product savedProduct = productRepository.save(product);' is redundant
-        // as 'product' is not modified yet and this save is overwritten later. It can be removed.
-        Product savedProduct = productRepository.save(product); // <-- This line appears to be unnecessary/incorrectly placed.
+        // Remember the current category, if the product moves both the old and the new category pages must be evicted.
+        Long previousCategoryId = product.getCategory().getId();
+        // This update is newer than a buffered write-behind update of the same product, drop that one.
+        productWriteBehindService.discard(id.longValue());
 
         // Step 2: Find the new Category by its ID from the request DTO.
         // Check if the new categoryId (if changed) is available in the database.
@@ -68,50 +107,124 @@ public class ProductServiceImpl implements ProductService { // Defines the imple
         product.setCategory(category); // Update the product's associated Category.
 
         // Step 4: Save the modified Product Entity back to the database.
-        // This performs the actual UPDATE operation.
-        productRepository.save(product);
+        // This performs the actual UPDATE operation (and bumps @Version), the returned instance carries the new version.
+        Product updatedProduct = productRepository.save(product);
+        ProductResponse response = ProductMapper.toProductResponse(updatedProduct);
 
+        // Step 5: Notify listeners about the update (old and new category).
+        eventPublisher.publishEvent(ProductChangedEvent.updated(response, previousCategoryId));
 
-        // Step 5: Convert the updated/saved Product Entity back into a ProductResponse DTO.
-        // Note: The variable 'savedProduct' used here holds the state *before* the category/field updates
-        // in Step 3/4. It should use the 'product' object after saving.
-        return ProductMapper.toProductResponse(savedProduct); // <-- This should ideally use 'product' after the final save.
+        // Step 6: Return the updated state, its version matches the ETag of the next GET.
+        return response;
 
 
     }
 
     @Override // Indicates that this method is an implementation of a method from the interface.
     public void deleteProduct(Integer id) {
-        // Use the repository to delete the Product entity corresponding to the given ID.
-        productRepository.deleteById(id);
-        // Return a confirmation message.
-
+        // Load the product first so we know which category it belonged to (deleteById does this lookup internally anyway).
+        // Deleting an id that does not exist stays a no-op, same as deleteById.
+        productRepository.findById(id).ifPresent(product -> {
+            Long categoryId = product.getCategory().getId();
+            // Use the repository to delete the Product entity.
+            productRepository.delete(product);
+            // Notify listeners so the category pages containing this product are evicted.
+            eventPublisher.publishEvent(ProductChangedEvent.deleted(product.getId(), categoryId));
+        });
     }
 
     @Override // Indicates that this method is an implementation of a method from the interface.
+    @Transactional(readOnly = true) // One read-only transaction for the whole call: a replica when configured (DataSourceConfig), no pool checkout on a cache hit.
     public ProductResponse getProductById(Integer id) {
-        // Find the Product entity by its ID.
-        // If not found, throw an exception.
-        Product product = productRepository.findById(id).orElseThrow(()->new RuntimeException("Product not found"));
-        // Convert the found Product Entity to a ProductResponse DTO and return it.
-        return ProductMapper.toProductResponse(product);
+        // Served from the entity cache, only a miss runs the query below (a not found product is never cached).
+        return entityCache.getProduct(id.longValue(), productId -> {
+            // Find the Product entity by its ID.
+            // If not found, throw an exception.
+            Product product = productRepository.findById(id).orElseThrow(()->new RuntimeException("Product not found"));
+            // Convert the found Product Entity to a ProductResponse DTO and return it.
+            return ProductMapper.toProductResponse(product);
+        });
+    }
+
+
+    @Override // Indicates that this method is an implementation of a method from the interface.
+    @Transactional(readOnly = true) // Read-only transaction, same routing as above.
+    public CursorPageResponse<ProductResponse> getAllProducts(String cursor, Integer size) {
+        // Step 1: Clamp the requested page size so a single call can never load the whole table.
+        int pageSize = CursorMapper.resolvePageSize(size);
+
+        // Step 2: Decode the opaque cursor into the last id the client has already seen (0 for the first page).
+        long afterId = CursorMapper.decode(cursor);
+
+        // Step 3: Keyset query (id > :after ORDER BY id LIMIT pageSize + 1) walks the primary key index,
+        // so the cost stays the same on page 1 and page 100000. The extra row tells us if there is a next page.
+        // Rows are selected straight into ProductResponse (read-only transaction, no entities to dirty check).
+        List<ProductResponse> rows = productRepository.findResponsesAfter(afterId, Limit.of(pageSize + 1));
+
+        // Step 4: Build the next cursor from the last id on this page.
+        return CursorMapper.toPage(rows, pageSize, ProductResponse::getId, Function.identity());
     }
 
+    @Override // Indicates that this method is an implementation of a method from the interface.
+    @Transactional(readOnly = true) // Read-only transaction, same routing as above.
+    public CursorPageResponse<ProductResponse> getProductsByCategory(Long categoryId, String cursor, Integer size) {
+        // Step 1: Clamp the page size and decode the cursor (also validates it before we touch the cache).
+        int pageSize = CursorMapper.resolvePageSize(size);
+        long afterId = CursorMapper.decode(cursor);
+
+        // Step 2: Serve the page from the per-category cache, only a miss goes to the database.
+        return categoryProductsCache.get(categoryId, cursor, pageSize, () -> {
+            // Step 3: Unknown category -> 404 instead of an empty page.
+            if (!categoryRepository.existsById(Math.toIntExact(categoryId))) {
+                throw new CategoryNotFoundException("Category id " + ":" + categoryId + " " + " not found");
+            }
+
+            // Step 4: Keyset query on (category_id, id) projected into DTOs, one extra row tells if there is a next page.
+            List<ProductResponse> rows = productRepository.findResponsesByCategoryAfter(
+                    categoryId, afterId, Limit.of(pageSize + 1));
+
+            // Step 5: Build the next cursor.
+            return CursorMapper.toPage(rows, pageSize, ProductResponse::getId, Function.identity());
+        });
+    }
 
     @Override // Indicates that this method is an implementation of a method from the interface.
-    public List<ProductResponse> getAllProducts() {
-        // Use the repository to fetch all Product entities from the database.
-        // .stream() creates a stream of Product entities.
-        // .map(ProductMapper::toProductResponse) converts each Product entity in the stream to a ProductResponse DTO.
-        // .toList() collects the resulting DTOs into a List and returns it.
-        return productRepository.findAll().stream().map(ProductMapper::toProductResponse).toList();
+    public ProductSearchResponse searchProducts(String query, Integer page, Integer size) {
+        // Step 1: Clamp the page size the same way as the paginated listings, pages start at 0.
+        int pageSize = CursorMapper.resolvePageSize(size);
+        int pageNumber = page == null || page < 0 ? 0 : page;
+
+        // Step 2: Rank the matching products in memory (BM25 over name + description), no database round trip.
+        ProductSearchIndex.Hits hits = productSearchIndex.search(query, pageNumber, pageSize);
+
+        // Step 3: Wrap the requested page together with the total number of matches.
+        return new ProductSearchResponse(query, hits.getProducts(), pageNumber, pageSize, hits.getTotal());
     }
 
     @Override // Indicates that this method is an implementation of a method from the interface.
-    public List<ProductResponse> getProductsByCategory(Long categoryId) {
-        // This method is currently implemented to return an empty list.
-        // The actual logic would involve calling a repository method like productRepository.findByCategoryId(categoryId)
-        // and mapping the results to DTOs.
-        return List.of();
+    @Transactional(readOnly = true) // Read-only transaction, same routing as above.
+    public PriceRangeResponse getProductsByPriceRange(Double min, Double max, Long categoryId, Integer page, Integer size) {
+        // Step 1: Open bounds default to the whole price axis, an inverted range is a client error.
+        double low = min == null ? Double.NEGATIVE_INFINITY : min;
+        double high = max == null ? Double.POSITIVE_INFINITY : max;
+        if (Double.isNaN(low) || Double.isNaN(high) || low > high) {
+            throw new InvalidPriceRangeException("min (" + min + ") must not be greater than max (" + max + ")");
+        }
+        int pageSize = CursorMapper.resolvePageSize(size);
+        int pageNumber = page == null || page < 0 ? 0 : page;
+
+        // Step 2: Binary search the in-memory price index for the bounds, count and slice the page (no table scan).
+        ProductPriceIndex.Range range = productPriceIndex.range(
+                low, high, categoryId, (int) Math.min((long) pageNumber * pageSize, Integer.MAX_VALUE), pageSize);
+
+        // Step 3: Turn the page ids into products, cheapest first.
+        List<ProductResponse> items = loadInOrder(range.getIds());
+        return new PriceRangeResponse(min, max, categoryId, items, pageNumber, pageSize, range.getCount());
+    }
+
+    // Products for the given ids in the same order, cached ones come from the entity cache,
+    // the rest is loaded with "WHERE id IN (...)" queries. Ids deleted in the meantime are skipped.
+    private List<ProductResponse> loadInOrder(long[] ids) {
+        return productLookupService.getProductsByIds(Arrays.stream(ids).boxed().toList()).getItems();
     }
-}
\ No newline at end of file
+}
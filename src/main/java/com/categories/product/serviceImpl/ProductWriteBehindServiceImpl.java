@@ -0,0 +1,446 @@
+package com.categories.product.serviceImpl;
+
+import com.categories.product.cache.EntityCache;
+import com.categories.product.config.MetricsConfig;
+import com.categories.product.dto.productDTO.ProductRequest;
+import com.categories.product.dto.productDTO.ProductResponse;
+import com.categories.product.event.ProductChangedEvent;
+import com.categories.product.exception.CategoryNotFoundException;
+import com.categories.product.exception.ProductNotFoundException;
+import com.categories.product.exception.UpdateBufferFullException;
+import com.categories.product.repositories.CategoryRepository;
+import com.categories.product.repositories.ProductRepository;
+import com.categories.product.services.ProductWriteBehindService;
+import com.categories.product.sync.ChangeSequence;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.context.WebServerGracefulShutdownLifecycle;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/*
+    Write-behind for PUT /api/products/{id} with "Prefer: respond-async" (catalog.write-behind.enabled=true).
+
+    Updates go into a striped buffer keyed by product id, a newer update of the same product replaces the
+    buffered one (last write wins). Every interval the buffer is swapped out stripe by stripe and written with
+    batched "UPDATE products ... version = version + 1 ... WHERE id = ? AND version = ?" statements, one transaction
+    per batch. Listeners (caches, indexes, response cache) get their ProductChangedEvent after the batch is committed.
+
+    The version is the one seen when the first update of the product was buffered. A synchronous PUT that commits
+    while a drained batch is on its way (discard() only reaches updates still in the buffer) bumps it, the older
+    buffered state then updates nothing and is counted as superseded instead of overwriting the newer one.
+
+    A failing batch is written again row by row, one transaction each. A row that fails on its own (e.g. a foreign
+    key violation, its category was deleted before the flush) is dropped and counted, so it cannot hold the other
+    rows of its batch back forever. Only when the database is unreachable (or the failure is transient, deadlock,
+    timeout) do the rows go back into the buffer for the next flush.
+
+    The buffer holds at most capacity distinct products, beyond that updates fail fast with 503 + Retry-After
+    and a flush is started right away. Stopping the application flushes whatever is still buffered,
+    after the web server stopped taking requests, what cannot be written then is logged as lost.
+
+    Metrics (on /actuator/prometheus):
+    catalog.write-behind.pending              -> products waiting for the next flush
+    catalog.write-behind.updates{outcome}     -> accepted / coalesced (replaced a buffered one) / rejected
+    catalog.write-behind.rows{outcome}        -> written / superseded (newer write in between) / failed (kept for the next flush)
+                                                 / dropped (failed on its own, not written)
+    catalog.write-behind.flush                -> time per flush
+ */
+@Service
+public class ProductWriteBehindServiceImpl implements ProductWriteBehindService, SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductWriteBehindServiceImpl.class);
+
+    private static final String UPDATE_PRODUCT =
+            "UPDATE products SET name = ?, description = ?, price = ?, category_id = ?, version = version + 1, change_seq = ? " +
+            "WHERE id = ? AND version = ?";
+
+    private final ProductRepository productRepository;
+    private final CategoryRepository categoryRepository;
+    private final EntityCache entityCache;
+    private final ChangeSequence changeSequence;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final boolean enabled;
+    private final Duration interval;
+    private final int capacity;
+    private final int batchSize;
+    private final Duration retryAfter;
+
+    private final Stripe[] stripes;
+    private final AtomicInteger pending = new AtomicInteger();
+    // one flush at a time (scheduler, full buffer, shutdown)
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    private final Counter accepted;
+    private final Counter coalesced;
+    private final Counter rejected;
+    private final Counter written;
+    private final Counter superseded;
+    private final Counter failed;
+    private final Counter dropped;
+    private final Timer flushTimer;
+
+    private ScheduledExecutorService scheduler;
+    private volatile boolean running;
+
+    public ProductWriteBehindServiceImpl(
+            ProductRepository productRepository,
+            CategoryRepository categoryRepository,
+            EntityCache entityCache,
+            ChangeSequence changeSequence,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            ApplicationEventPublisher eventPublisher,
+            MeterRegistry meterRegistry,
+            @Value("${catalog.write-behind.enabled:false}") boolean enabled,
+            @Value("${catalog.write-behind.interval:200ms}") Duration interval,
+            @Value("${catalog.write-behind.stripes:16}") int stripes,
+            @Value("${catalog.write-behind.capacity:10000}") int capacity,
+            @Value("${catalog.write-behind.batch-size:500}") int batchSize,
+            @Value("${catalog.write-behind.retry-after:1s}") Duration retryAfter
+    ) {
+        this.productRepository = productRepository;
+        this.categoryRepository = categoryRepository;
+        this.entityCache = entityCache;
+        this.changeSequence = changeSequence;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.enabled = enabled;
+        this.interval = interval;
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+        this.retryAfter = retryAfter;
+
+        this.stripes = new Stripe[Math.max(1, stripes)];
+        for (int i = 0; i < this.stripes.length; i++) {
+            this.stripes[i] = new Stripe();
+        }
+
+        Gauge.builder("catalog.write-behind.pending", pending, AtomicInteger::get)
+                .description("Product updates waiting for the next write-behind flush")
+                .register(meterRegistry);
+        this.accepted = updates(meterRegistry, "accepted");
+        this.coalesced = updates(meterRegistry, "coalesced");
+        this.rejected = updates(meterRegistry, "rejected");
+        this.written = rows(meterRegistry, "written");
+        this.superseded = rows(meterRegistry, "superseded");
+        this.failed = rows(meterRegistry, "failed");
+        this.dropped = rows(meterRegistry, "dropped");
+        this.flushTimer = Timer.builder("catalog.write-behind.flush")
+                .description("Time to write one round of buffered product updates")
+                .publishPercentiles(0.5, 0.99, 0.999)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    @Timed(value = MetricsConfig.SERVICE_TIMER, histogram = true, percentiles = {0.5, 0.99, 0.999}) // not on the class: lifecycle callbacks are not service calls
+    public void enqueueUpdate(Long id, ProductRequest productRequest) {
+        if (!running) {
+            rejected.increment();
+            throw new UpdateBufferFullException("Product updates are not accepted right now, retry later", retryAfter);
+        }
+
+        // Step 1: Same checks as the synchronous update, answered from the entity cache when possible.
+        ProductResponse current = entityCache.getProduct(id, productId -> productRepository
+                .findResponsesByIdIn(List.of(productId)).stream().findFirst()
+                .orElseThrow(() -> new ProductNotFoundException("Product id " + ":" + productId + " " + " not found")));
+        if (productRequest.getCategoryId() == null) {
+            throw new CategoryNotFoundException("Category id is required");
+        }
+        Long categoryId = productRequest.getCategoryId().longValue();
+        entityCache.getCategory(categoryId, key -> categoryRepository.findSummaryById(key)
+                .orElseThrow(() -> new CategoryNotFoundException("Category id " + ":" + key + " " + " not found")));
+
+        // Step 2: Put it into the stripe of this id, replacing a buffered update of the same product.
+        Stripe stripe = stripeOf(id);
+        stripe.lock.lock();
+        try {
+            PendingUpdate previous = stripe.updates.get(id);
+            if (previous == null && pending.incrementAndGet() > capacity) {
+                pending.decrementAndGet();
+                rejected.increment();
+                scheduleFlushNow();
+                throw new UpdateBufferFullException("Too many pending product updates, retry later", retryAfter);
+            }
+            // the category and version before the FIRST buffered update are the ones caches must evict / the row must still have
+            Long previousCategoryId = previous == null ? current.getCategoryId() : previous.previousCategoryId;
+            Long expectedVersion = previous == null ? current.getVersion() : previous.expectedVersion;
+            stripe.updates.put(id, new PendingUpdate(id, productRequest.getName(), productRequest.getDescription(),
+                    productRequest.getPrice(), categoryId, previousCategoryId, expectedVersion));
+            if (previous == null) accepted.increment();
+            else coalesced.increment();
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    @Override
+    public void discard(Long id) {
+        Stripe stripe = stripeOf(id);
+        stripe.lock.lock();
+        try {
+            if (stripe.updates.remove(id) != null) {
+                pending.decrementAndGet();
+            }
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    @Override
+    public int flush() {
+        flushLock.lock();
+        try {
+            return flushTimer.record(this::writePending);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private int writePending() {
+        // Step 1: Swap every stripe for an empty one, writers only wait for their own stripe.
+        List<PendingUpdate> updates = new ArrayList<>();
+        for (Stripe stripe : stripes) {
+            Map<Long, PendingUpdate> drained;
+            stripe.lock.lock();
+            try {
+                if (stripe.updates.isEmpty()) continue;
+                drained = stripe.updates;
+                stripe.updates = new HashMap<>();
+            } finally {
+                stripe.lock.unlock();
+            }
+            pending.addAndGet(-drained.size());
+            updates.addAll(drained.values());
+        }
+
+        // Step 2: One transaction per batch, a failing batch is retried row by row (see above).
+        int count = 0;
+        for (int from = 0; from < updates.size(); from += batchSize) {
+            List<PendingUpdate> batch = updates.subList(from, Math.min(from + batchSize, updates.size()));
+            List<PendingUpdate> updated;
+            try {
+                updated = write(batch);
+            } catch (RuntimeException e) {
+                if (isUnavailable(e)) {
+                    failed.increment(batch.size());
+                    requeue(batch);
+                    continue;
+                }
+                updated = writeOneByOne(batch);
+            }
+            written.increment(updated.size());
+            count += updated.size();
+            if (updated.isEmpty()) continue;
+
+            // Step 4: Committed, read the new state (with its version) back and notify the listeners.
+            Map<Long, PendingUpdate> byId = new HashMap<>();
+            for (PendingUpdate update : updated) {
+                byId.put(update.id, update);
+            }
+            for (ProductResponse product : productRepository.findResponsesByIdIn(byId.keySet())) {
+                eventPublisher.publishEvent(ProductChangedEvent.updated(product, byId.get(product.getId()).previousCategoryId));
+            }
+        }
+        return count;
+    }
+
+    // One transaction, returns the updates that changed their row.
+    private List<PendingUpdate> write(List<PendingUpdate> batch) {
+        int[][] rowCounts = transactionTemplate.execute(status -> jdbcTemplate.batchUpdate(UPDATE_PRODUCT, batch, batch.size(),
+                (statement, update) -> {
+                    statement.setString(1, update.name);
+                    statement.setString(2, update.description);
+                    statement.setObject(3, update.price);
+                    statement.setLong(4, update.categoryId);
+                    // no entity listener on this path, stamp the change feed sequence here (inside the transaction)
+                    statement.setLong(5, changeSequence.next());
+                    statement.setLong(6, update.id);
+                    statement.setLong(7, update.expectedVersion);
+                }));
+
+        // Step 3: 0 rows -> a newer write (or a delete) got there first, that state stays and is not announced again.
+        // SUCCESS_NO_INFO (driver rewrote the batch) counts as written.
+        List<PendingUpdate> updated = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            if (rowCounts[0][i] == 0) {
+                superseded.increment();
+            } else {
+                updated.add(batch.get(i));
+            }
+        }
+        return updated;
+    }
+
+    private List<PendingUpdate> writeOneByOne(List<PendingUpdate> batch) {
+        List<PendingUpdate> updated = new ArrayList<>(batch.size());
+        for (PendingUpdate update : batch) {
+            try {
+                updated.addAll(write(List.of(update)));
+            } catch (RuntimeException e) {
+                if (isUnavailable(e)) {
+                    failed.increment();
+                    requeue(List.of(update));
+                } else {
+                    dropped.increment();
+                    log.warn("Dropped buffered update of product {}: {}", update.id, e.getMessage());
+                }
+            }
+        }
+        return updated;
+    }
+
+    // worth another try with the same rows: no connection, deadlock, lock wait / query timeout
+    private static boolean isUnavailable(RuntimeException e) {
+        return e instanceof CannotCreateTransactionException
+                || e instanceof DataAccessResourceFailureException
+                || e instanceof TransientDataAccessException;
+    }
+
+    // a newer update buffered while the batch was being written wins over the failed one
+    private void requeue(List<PendingUpdate> batch) {
+        for (PendingUpdate update : batch) {
+            Stripe stripe = stripeOf(update.id);
+            stripe.lock.lock();
+            try {
+                if (stripe.updates.putIfAbsent(update.id, update) == null) {
+                    pending.incrementAndGet();
+                }
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+    }
+
+    private void scheduleFlushNow() {
+        ScheduledExecutorService current = scheduler;
+        if (current != null && !current.isShutdown()) {
+            current.execute(this::flush);
+        }
+    }
+
+    private Stripe stripeOf(Long id) {
+        return stripes[Math.floorMod(Long.hashCode(id), stripes.length)];
+    }
+
+    // ================= LIFECYCLE =================
+
+    @Override
+    public void start() {
+        if (!enabled) return;
+        scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "product-write-behind");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long millis = Math.max(1, interval.toMillis());
+        scheduler.scheduleWithFixedDelay(this::flush, millis, millis, TimeUnit.MILLISECONDS);
+        running = true;
+    }
+
+    // stop accepting, let a running flush finish, then write everything that is left
+    @Override
+    public void stop() {
+        if (!running) return;
+        running = false;
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        while (pending.get() > 0 && flush() > 0) {
+            // a failed batch is requeued, stop when a round writes nothing
+        }
+        if (pending.get() > 0) {
+            log.error("{} buffered product updates could not be written before shutdown and are lost", pending.get());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // lower phase = stopped later: after the web server, while the DataSource and listeners are still there
+    @Override
+    public int getPhase() {
+        return WebServerGracefulShutdownLifecycle.SMART_LIFECYCLE_PHASE - 2048;
+    }
+
+    private static Counter updates(MeterRegistry registry, String outcome) {
+        return Counter.builder("catalog.write-behind.updates")
+                .description("Product updates offered to the write-behind buffer")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    private static Counter rows(MeterRegistry registry, String outcome) {
+        return Counter.builder("catalog.write-behind.rows")
+                .description("Buffered product updates written by a flush")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    private static final class Stripe {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private Map<Long, PendingUpdate> updates = new HashMap<>();
+    }
+
+    // the full new state of one product, the latest request for that id
+    private static final class PendingUpdate {
+
+        private final Long id;
+        private final String name;
+        private final String description;
+        private final Double price;
+        private final Long categoryId;
+        private final Long previousCategoryId;
+        private final Long expectedVersion;
+
+        private PendingUpdate(Long id, String name, String description, Double price, Long categoryId,
+                              Long previousCategoryId, Long expectedVersion) {
+            this.id = id;
+            this.name = name;
+            this.description = description;
+            this.price = price;
+            this.categoryId = categoryId;
+            this.previousCategoryId = previousCategoryId;
+            this.expectedVersion = expectedVersion;
+        }
+    }
+}
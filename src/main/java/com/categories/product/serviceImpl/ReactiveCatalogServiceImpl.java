@@ -0,0 +1,67 @@
+package com.categories.product.serviceImpl;
+
+import com.categories.product.dto.categoryDTO.CategoryResponse;
+import com.categories.product.dto.productDTO.ProductResponse;
+import com.categories.product.exception.CategoryNotFoundException;
+import com.categories.product.exception.ProductNotFoundException;
+import com.categories.product.mapper.CursorMapper;
+import com.categories.product.repositories.ReactiveCatalogRepository;
+import com.categories.product.services.ReactiveCatalogService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Service
+@ConditionalOnProperty(name = "catalog.reactive.enabled", havingValue = "true")
+public class ReactiveCatalogServiceImpl implements ReactiveCatalogService {
+
+    private final ReactiveCatalogRepository reactiveCatalogRepository;
+
+    public ReactiveCatalogServiceImpl(ReactiveCatalogRepository reactiveCatalogRepository) {
+        this.reactiveCatalogRepository = reactiveCatalogRepository;
+    }
+
+    @Override
+    public Mono<ProductResponse> getProductById(Long id) {
+        return reactiveCatalogRepository.findProductById(id)
+                .switchIfEmpty(Mono.error(() -> new ProductNotFoundException("Product id " + ":" + id + " " + " not found")));
+    }
+
+    @Override
+    public Flux<ProductResponse> getAllProducts(String cursor, Integer size) {
+        // Step 1: Decode the cursor (same opaque cursor as the paginated endpoint), an invalid one fails right away.
+        long afterId = CursorMapper.decode(cursor);
+
+        // Step 2: Stream from there, rows are pulled from the database only as fast as the client reads them.
+        return reactiveCatalogRepository.findProductsAfter(afterId, streamLimit(size));
+    }
+
+    @Override
+    public Mono<Flux<ProductResponse>> getProductsByCategory(Long categoryId, String cursor, Integer size) {
+        long afterId = CursorMapper.decode(cursor);
+
+        // Step 1: Unknown category -> error before the stream starts (the status can still become 404).
+        // Step 2: Otherwise hand out the (not yet subscribed) product stream of that category.
+        return reactiveCatalogRepository.existsCategoryById(categoryId)
+                .flatMap(exists -> exists
+                        ? Mono.just(reactiveCatalogRepository.findProductsByCategoryAfter(categoryId, afterId, streamLimit(size)))
+                        : Mono.error(new CategoryNotFoundException("Category id " + ":" + categoryId + " " + " not found")));
+    }
+
+    @Override
+    public Mono<CategoryResponse> getCategoryById(Long id) {
+        return reactiveCatalogRepository.findCategorySummaryById(id)
+                .switchIfEmpty(Mono.error(() -> new CategoryNotFoundException("Category id " + ":" + id + " " + " not found")));
+    }
+
+    @Override
+    public Flux<CategoryResponse> getAllCategories() {
+        return reactiveCatalogRepository.findAllCategorySummaries();
+    }
+
+    // No size -> whole stream, streaming needs no page size cap since nothing is buffered
+    private static Integer streamLimit(Integer size) {
+        return size == null || size <= 0 ? null : size;
+    }
+}
@@ -0,0 +1,109 @@
+package com.categories.product.serviceImpl;
+
+import com.categories.product.config.MetricsConfig;
+import com.categories.product.dto.userDTO.UserResponseDTO;
+import com.categories.product.entities.RefreshToken;
+import com.categories.product.entities.User;
+import com.categories.product.exception.InvalidRefreshTokenException;
+import com.categories.product.mapper.UserMapper;
+import com.categories.product.repositories.RefreshTokenRepository;
+import com.categories.product.repositories.UserRepository;
+import com.categories.product.services.RefreshTokenService;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+@Service
+@Timed(value = MetricsConfig.SERVICE_TIMER, histogram = true, percentiles = {0.5, 0.99, 0.999})
+public class RefreshTokenServiceImpl implements RefreshTokenService {
+
+    private static final int TOKEN_BYTES = 32;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final UserRepository userRepository;
+    private final SecureRandom random = new SecureRandom();
+
+    // lifetime of each token, every refresh starts a new one (sliding window)
+    private final Duration ttl;
+
+    public RefreshTokenServiceImpl(
+            RefreshTokenRepository refreshTokenRepository,
+            UserRepository userRepository,
+            @Value("${security.refresh-token.ttl:14d}") Duration ttl
+    ) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.userRepository = userRepository;
+        this.ttl = ttl;
+    }
+
+    @Override
+    @Transactional
+    public String issueToken(Long userId) {
+        Instant now = Instant.now();
+
+        // Step 1: Drop this user's expired tokens (reuse detection only needs tokens that could still be presented).
+        refreshTokenRepository.deleteExpiredByUserId(userId, now);
+
+        // Step 2: New family, getReference -> no SELECT for the user.
+        return store(UUID.randomUUID().toString(), userRepository.getReferenceById(userId), now);
+    }
+
+    @Override
+    // the family revocation on reuse has to be committed although the refresh itself fails
+    @Transactional(noRollbackFor = InvalidRefreshTokenException.class)
+    public UserResponseDTO refresh(String refreshToken) {
+        Instant now = Instant.now();
+
+        // Step 1: Look the token up by its hash.
+        RefreshToken token = refreshTokenRepository.findByTokenHash(hash(refreshToken))
+                .orElseThrow(() -> new InvalidRefreshTokenException("Invalid refresh token"));
+
+        if (token.isRevoked() || !token.getExpiresAt().isAfter(now)) {
+            throw new InvalidRefreshTokenException("Refresh token expired or revoked, sign in again");
+        }
+
+        // Step 2: Mark it used. 0 rows -> it was used before (or by a concurrent request): reuse, revoke the family.
+        if (refreshTokenRepository.markUsed(token.getId(), now) == 0) {
+            refreshTokenRepository.revokeFamily(token.getFamilyId());
+            throw new InvalidRefreshTokenException("Refresh token reuse detected, sign in again");
+        }
+
+        // Step 3: Next token of the same family, roles are read from the user row (a role change applies on refresh).
+        User user = token.getUser();
+        UserResponseDTO response = UserMapper.toResponseDTO(user);
+        response.setRefreshToken(store(token.getFamilyId(), user, now));
+        return response;
+    }
+
+    private String store(String familyId, User user, Instant now) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        refreshTokenRepository.save(new RefreshToken(hash(rawToken), familyId, user, now.plus(ttl)));
+        return rawToken;
+    }
+
+    // 256 bit random tokens need no salt or slow hash, SHA-256 only keeps a database leak from exposing usable tokens
+    private static String hash(String rawToken) {
+        if (rawToken == null || rawToken.isBlank()) {
+            throw new InvalidRefreshTokenException("Refresh token is required");
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(rawToken.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.categories.product.services;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public interface CatalogEventService {
+
+    // SUBSCRIBE
+    // Live stream of catalog changes, only those touching categoryId when it is given.
+    // lastEventId (Last-Event-ID header) replays the changes after it that are still in the replay buffer,
+    // a "reset" event tells the client it missed more than that (or the id is from before a restart) and has to reload.
+    SseEmitter subscribe(Long categoryId, String lastEventId);
+
+    // number of open streams
+    int subscriberCount();
+}
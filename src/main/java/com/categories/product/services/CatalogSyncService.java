@@ -0,0 +1,12 @@
+package com.categories.product.services;
+
+import com.categories.product.dto.syncDTO.CatalogChangesResponse;
+
+public interface CatalogSyncService {
+
+    // DELTA SYNC
+    // Products and categories changed or deleted after the change sequence "since", oldest first, at most size
+    // entries. Only sequences every transaction is done with are returned, a mirror that keeps passing
+    // nextSince back never misses a change.
+    CatalogChangesResponse getChanges(Long since, Integer size);
+}
@@ -20,10 +20,20 @@ public interface CategoryService { // Defines the CategoryService interface, out
     void deleteCategory(Integer id);
 
     //GET BY ID
-    // Method signature for fetching a single category by its ID, returning a CategoryResponse DTO.
-    CategoryResponse getCategoryById(Long id);
+    // Method signature for fetching a single category by its ID, returning a CategoryResponse DTO (id, name, product count).
+    // When includeProducts is true the first productLimit products are attached as well.
+    CategoryResponse getCategoryById(Long id, boolean includeProducts, Integer productLimit);
 
     //GET ALL
-    // Method signature for fetching all categories, returning a List of CategoryResponse DTOs.
-    List<CategoryResponse> getAllCategories();
-}
\ No newline at end of file
+    // Method signature for fetching all categories as summaries (id, name, product count), returning a List of CategoryResponse DTOs.
+    // When includeProducts is true the first productLimit products of each category are attached as well.
+    List<CategoryResponse> getAllCategories(boolean includeProducts, Integer productLimit);
+
+    //ETAGS (conditional GET)
+    // Method signatures returning the weak ETag (W/"...") of GET /api/categories/{id} and GET /api/categories for the given representation.
+    // The category one comes from an aggregate version query, the list one from the catalog write counter (no query).
+    // No category or product rows are loaded.
+    String getCategoryETag(Long id, boolean includeProducts, Integer productLimit);
+
+    String getAllCategoriesETag(boolean includeProducts, Integer productLimit);
+}
@@ -3,7 +3,16 @@ package com.categories.product.services;
 import com.categories.product.dto.userDTO.UserRequestDTO;
 import com.categories.product.dto.userDTO.UserResponseDTO;
 
+import java.util.concurrent.CompletableFuture;
+
 public interface MyUserDetailsService {
 
-    UserResponseDTO registerUser(UserRequestDTO userRequestDTO);
+    // REGISTER
+    // Hashes the password on the password hashing pool, then saves the user (id, username and roles in the response).
+    CompletableFuture<UserResponseDTO> registerUser(UserRequestDTO userRequestDTO);
+
+    // LOGIN
+    // One user lookup, then the password check on the password hashing pool.
+    // Completes with InvalidCredentialsException for an unknown user or a wrong password.
+    CompletableFuture<UserResponseDTO> authenticate(UserRequestDTO userRequestDTO);
 }
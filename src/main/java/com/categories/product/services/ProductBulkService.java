@@ -0,0 +1,14 @@
+package com.categories.product.services;
+
+import com.categories.product.dto.productDTO.BulkProductResponse;
+import com.categories.product.dto.productDTO.ProductRequest;
+
+import java.util.List;
+
+public interface ProductBulkService {
+
+    // BULK CREATE
+    // Validates all category ids with one IN query, inserts the valid items in JDBC batches
+    // and returns one result per request item (same order as the request).
+    BulkProductResponse createProducts(List<ProductRequest> requests);
+}
@@ -0,0 +1,12 @@
+package com.categories.product.services;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface ProductExportService {
+
+    // EXPORT
+    // Writes every product as one JSON object per line (NDJSON) to the given stream,
+    // reading the table through a database cursor so memory stays flat at any catalog size.
+    void exportProducts(OutputStream out) throws IOException;
+}
@@ -0,0 +1,14 @@
+package com.categories.product.services;
+
+import com.categories.product.dto.productDTO.ProductBatchResponse;
+
+import java.util.List;
+
+public interface ProductLookupService {
+
+    // MULTI GET
+    // Resolves many product ids in one call: cached products come from the entity cache, the rest from
+    // chunked "WHERE id IN (...)" queries. Items keep the request order (duplicates collapsed), unknown ids
+    // are listed in missingIds.
+    ProductBatchResponse getProductsByIds(List<Long> ids);
+}
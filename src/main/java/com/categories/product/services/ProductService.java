@@ -1,7 +1,10 @@
 package com.categories.product.services; // Declares the package where this interface resides.
 
+import com.categories.product.dto.pageDTO.CursorPageResponse; // Imports the DTO used for one keyset paginated page of results.
+import com.categories.product.dto.productDTO.PriceRangeResponse; // Imports the DTO used for one page of a price range query.
 import com.categories.product.dto.productDTO.ProductRequest; // Imports the DTO used for data input (creation/update).
 import com.categories.product.dto.productDTO.ProductResponse; // Imports the DTO used for data output (response).
+import com.categories.product.dto.productDTO.ProductSearchResponse; // Imports the DTO used for one page of search results.
 
 import java.util.List; // Imports the standard Java List collection, used for methods returning multiple products.
 
@@ -23,11 +26,19 @@ public interface ProductService { // Defines the ProductService interface, outli
     // Method signature for fetching a single product by its ID, returning a ProductResponse DTO.
     ProductResponse getProductById(Integer id);
 
-    // GET ALL
-    // Method signature for fetching all products, returning a List of ProductResponse DTOs.
-    List<ProductResponse> getAllProducts();
+    // GET ALL (keyset paginated)
+    // Method signature for fetching one page of products after the given cursor, returning a CursorPageResponse of ProductResponse DTOs.
+    CursorPageResponse<ProductResponse> getAllProducts(String cursor, Integer size);
 
-    // GET ALL PRODUCTS BY CATEGORY
-    // Method signature for fetching products filtered by a specific category ID, returning a List of ProductResponse DTOs.
-    List<ProductResponse> getProductsByCategory(Long categoryId);
+    // GET ALL PRODUCTS BY CATEGORY (keyset paginated)
+    // Method signature for fetching one page of products filtered by a specific category ID, returning a CursorPageResponse of ProductResponse DTOs.
+    CursorPageResponse<ProductResponse> getProductsByCategory(Long categoryId, String cursor, Integer size);
+
+    // SEARCH (full text over name + description, page based)
+    // Method signature for ranking products against a free text query, returning one page of ProductSearchResponse.
+    ProductSearchResponse searchProducts(String query, Integer page, Integer size);
+
+    // PRICE RANGE (optionally inside one category, page based)
+    // Method signature for fetching products with min <= price <= max, cheapest first, returning one page of PriceRangeResponse.
+    PriceRangeResponse getProductsByPriceRange(Double min, Double max, Long categoryId, Integer page, Integer size);
 }
\ No newline at end of file
@@ -0,0 +1,20 @@
+package com.categories.product.services;
+
+import com.categories.product.dto.productDTO.ProductRequest;
+
+public interface ProductWriteBehindService {
+
+    // true when catalog.write-behind.enabled is set, otherwise every update stays synchronous
+    boolean isEnabled();
+
+    // ASYNC UPDATE
+    // Validates the product and category (through the entity cache) and buffers the new state,
+    // a later update of the same product replaces it (last write wins). Written on the next flush.
+    void enqueueUpdate(Long id, ProductRequest productRequest);
+
+    // Drops a buffered update, used when a synchronous update of the same product wins
+    void discard(Long id);
+
+    // Writes everything buffered so far in batched UPDATEs, returns the number of products written
+    int flush();
+}
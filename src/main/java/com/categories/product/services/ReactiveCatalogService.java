@@ -0,0 +1,23 @@
+package com.categories.product.services;
+
+import com.categories.product.dto.categoryDTO.CategoryResponse;
+import com.categories.product.dto.productDTO.ProductResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveCatalogService {
+
+    // REACTIVE READS (catalog.reactive.enabled=true)
+    // Same data as ProductService / CategoryService reads, served from the non-blocking R2DBC repository.
+    // Lists are streamed element by element, size == null streams to the end of the table.
+    // Unknown ids complete with an error (ProductNotFoundException / CategoryNotFoundException) before anything is emitted.
+    Mono<ProductResponse> getProductById(Long id);
+
+    Flux<ProductResponse> getAllProducts(String cursor, Integer size);
+
+    Mono<Flux<ProductResponse>> getProductsByCategory(Long categoryId, String cursor, Integer size);
+
+    Mono<CategoryResponse> getCategoryById(Long id);
+
+    Flux<CategoryResponse> getAllCategories();
+}
@@ -0,0 +1,16 @@
+package com.categories.product.services;
+
+import com.categories.product.dto.userDTO.UserResponseDTO;
+
+public interface RefreshTokenService {
+
+    // ISSUE
+    // Starts a new token family for the user (login / register) and returns the raw refresh token.
+    String issueToken(Long userId);
+
+    // REFRESH
+    // Exchanges a refresh token for a new one of the same family, returns id, username, roles and the new refresh token.
+    // No password check is involved. An unknown, expired, revoked or already used token fails with
+    // InvalidRefreshTokenException, an already used one also revokes its whole family.
+    UserResponseDTO refresh(String refreshToken);
+}
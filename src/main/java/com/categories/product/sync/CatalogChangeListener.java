@@ -0,0 +1,51 @@
+package com.categories.product.sync;
+
+import com.categories.product.entities.CatalogTombstone;
+import com.categories.product.entities.Category;
+import com.categories.product.entities.Product;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreRemove;
+import jakarta.persistence.PreUpdate;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/*
+    JPA entity listener of Product and Category (created by Hibernate through Spring, so it gets constructor injection).
+
+    insert / update -> the row gets the next change sequence, every JPA write path is covered
+                       (create, update, bulk import), the write-behind JDBC UPDATE stamps it itself.
+    delete          -> a catalog_tombstones row in the same transaction, also for every product
+                       removed by the category cascade. Plain JDBC: a callback must not use the EntityManager.
+ */
+public class CatalogChangeListener {
+
+    private static final String INSERT_TOMBSTONE =
+            "INSERT INTO catalog_tombstones (seq, entity_type, entity_id, category_id) VALUES (?, ?, ?, ?)";
+
+    private final ChangeSequence changeSequence;
+    private final JdbcTemplate jdbcTemplate;
+
+    public CatalogChangeListener(ChangeSequence changeSequence, JdbcTemplate jdbcTemplate) {
+        this.changeSequence = changeSequence;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PrePersist
+    @PreUpdate
+    public void stamp(Object entity) {
+        if (entity instanceof Product product) {
+            product.setChangeSeq(changeSequence.next());
+        } else if (entity instanceof Category category) {
+            category.setChangeSeq(changeSequence.next());
+        }
+    }
+
+    @PreRemove
+    public void tombstone(Object entity) {
+        if (entity instanceof Product product) {
+            Long categoryId = product.getCategory() == null ? null : product.getCategory().getId();
+            jdbcTemplate.update(INSERT_TOMBSTONE, changeSequence.next(), CatalogTombstone.PRODUCT, product.getId(), categoryId);
+        } else if (entity instanceof Category category) {
+            jdbcTemplate.update(INSERT_TOMBSTONE, changeSequence.next(), CatalogTombstone.CATEGORY, category.getId(), null);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.categories.product.sync;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+/*
+    Catalog wide change sequence, stamped on every product / category insert and update (products.change_seq,
+    categories.change_seq) and on every tombstone, GET /api/products/changes reads by it.
+
+    Numbers are handed out in order, but transactions commit in any order: a reader that saw seq 12 committed
+    could still miss seq 11 committing a moment later. stable() is the highest sequence below which every
+    transaction has finished (the first sequence of the oldest open transaction - 1), the change feed never
+    reads past it, so "since" can only move over rows that are already visible.
+
+    The counter starts after the highest sequence in the database. It lives in this process like the other
+    catalog state (caches, write version, event stream), several instances writing the same database would
+    need a database sequence instead.
+ */
+@Component
+public class ChangeSequence {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // guards last and open, both are only touched for a few instructions
+    private final ReentrantLock lock = new ReentrantLock();
+    // first sequence of every transaction that stamped something and is not finished yet
+    private final TreeSet<Long> open = new TreeSet<>();
+    // -1 until read from the database
+    private long last = -1;
+
+    public ChangeSequence(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // Next sequence, stays "open" until the current transaction commits or rolls back.
+    public long next() {
+        lock.lock();
+        try {
+            seed();
+            long seq = ++last;
+            if (TransactionSynchronizationManager.isSynchronizationActive()
+                    && !TransactionSynchronizationManager.hasResource(this)) {
+                // later sequences of the same transaction are higher, its first one is enough
+                open.add(seq);
+                TransactionSynchronizationManager.bindResource(this, seq);
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        TransactionSynchronizationManager.unbindResourceIfPossible(ChangeSequence.this);
+                        release(seq);
+                    }
+                });
+            }
+            return seq;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Every sequence up to this one is committed (or rolled back), nothing below it can still appear.
+    public long stable() {
+        lock.lock();
+        try {
+            seed();
+            return open.isEmpty() ? last : open.first() - 1;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void release(long seq) {
+        lock.lock();
+        try {
+            open.remove(seq);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // caller holds the lock
+    private void seed() {
+        if (last >= 0) return;
+        last = Math.max(max("SELECT COALESCE(MAX(change_seq), 0) FROM products"),
+                Math.max(max("SELECT COALESCE(MAX(change_seq), 0) FROM categories"),
+                        max("SELECT COALESCE(MAX(seq), 0) FROM catalog_tombstones")));
+    }
+
+    private long max(String sql) {
+        Long value = jdbcTemplate.queryForObject(sql, Long.class);
+        return value == null ? 0 : value;
+    }
+}
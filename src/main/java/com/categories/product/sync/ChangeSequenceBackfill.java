@@ -0,0 +1,59 @@
+package com.categories.product.sync;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/*
+    Rows written before change_seq existed got 0 when ddl-auto added the column, they would never show up in
+    the change feed. On startup they get a sequence each, batch-size rows per transaction, through the same
+    ChangeSequence as every other write (so the feed picks them up like fresh changes). A no-op once done.
+    Runs outside the entities: the row version (and with it the ETags) stays as it is.
+ */
+@Component
+public class ChangeSequenceBackfill {
+
+    private final ChangeSequence changeSequence;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public ChangeSequenceBackfill(
+            ChangeSequence changeSequence,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            @Value("${catalog.sync.backfill-batch-size:1000}") int batchSize
+    ) {
+        this.changeSequence = changeSequence;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        // categories first, a mirror replaying the feed learns a category before its products
+        backfill("categories");
+        backfill("products");
+    }
+
+    private void backfill(String table) {
+        String select = "SELECT id FROM " + table + " WHERE change_seq = 0 ORDER BY id LIMIT " + batchSize;
+        String update = "UPDATE " + table + " SET change_seq = ? WHERE id = ? AND change_seq = 0";
+        List<Long> ids;
+        while (!(ids = jdbcTemplate.queryForList(select, Long.class)).isEmpty()) {
+            List<Long> batch = ids;
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(update, batch, batch.size(),
+                    (statement, id) -> {
+                        statement.setLong(1, changeSequence.next());
+                        statement.setLong(2, id);
+                    }));
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.categories.product.cache;
+
+import com.categories.product.security.JacksonConfig;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResponseCacheFilterTest {
+
+    private static final MediaType SMILE = MediaType.valueOf(JacksonConfig.APPLICATION_SMILE_VALUE);
+    private static final MediaType CBOR = MediaType.valueOf(JacksonConfig.APPLICATION_CBOR_VALUE);
+
+    @Test
+    void missingOrWildcardAcceptPicksJson() {
+        assertThat(ResponseCacheFilter.negotiate(null)).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(ResponseCacheFilter.negotiate(" ")).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(ResponseCacheFilter.negotiate("*/*")).isEqualTo(MediaType.APPLICATION_JSON);
+        // several producible types match: converter order decides
+        assertThat(ResponseCacheFilter.negotiate("application/*")).isEqualTo(MediaType.APPLICATION_JSON);
+    }
+
+    @Test
+    void binaryFormatsAreNegotiated() {
+        assertThat(ResponseCacheFilter.negotiate("application/cbor")).isEqualTo(CBOR);
+        assertThat(ResponseCacheFilter.negotiate("application/x-jackson-smile, application/json")).isEqualTo(SMILE);
+    }
+
+    @Test
+    void qualityRanksBeforeHeaderOrder() {
+        assertThat(ResponseCacheFilter.negotiate("application/json;q=0.5, application/cbor")).isEqualTo(CBOR);
+        assertThat(ResponseCacheFilter.negotiate("application/cbor;q=0.2, application/x-jackson-smile;q=0.8")).isEqualTo(SMILE);
+        // the quality is not part of the cache key
+        assertThat(ResponseCacheFilter.negotiate("application/cbor;q=0.9").getQualityValue()).isEqualTo(1.0);
+    }
+
+    @Test
+    void specificTypeWinsOverWildcardFallback() {
+        assertThat(ResponseCacheFilter.negotiate("text/html, application/xhtml+xml, */*;q=0.8")).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(ResponseCacheFilter.negotiate("text/html, application/cbor;q=0.1, */*;q=0.8")).isEqualTo(MediaType.APPLICATION_JSON);
+    }
+
+    @Test
+    void nothingProducibleOrUnparsableHeaderIsNotCached() {
+        assertThat(ResponseCacheFilter.negotiate("text/html")).isNull();
+        assertThat(ResponseCacheFilter.negotiate("application/xml, text/*")).isNull();
+        assertThat(ResponseCacheFilter.negotiate("application/")).isNull();
+    }
+}
@@ -0,0 +1,98 @@
+package com.categories.product.search;
+
+import com.categories.product.dto.productDTO.ProductResponse;
+import com.categories.product.event.CategoryChangedEvent;
+import com.categories.product.event.ProductChangedEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductPriceIndexTest {
+
+    // no repository: the index starts empty and is fed with events only
+    private final ProductPriceIndex index = new ProductPriceIndex(null, null);
+
+    @Test
+    void changesAreVisibleToTheNextQuery() {
+        index.onProductChanged(ProductChangedEvent.created(product(1L, 10.0, 1L)));
+        index.onProductChanged(ProductChangedEvent.created(product(2L, 5.0, 2L)));
+        index.onProductChanged(ProductChangedEvent.created(product(3L, 10.0, 1L)));
+        assertThat(index.range(0, 100, null, 0, 10).getIds()).containsExactly(2L, 1L, 3L);
+
+        // price change moves it, a delete and a product without a price drop out
+        index.onProductChanged(ProductChangedEvent.updated(product(2L, 20.0, 2L), 2L));
+        index.onProductChanged(ProductChangedEvent.deleted(1L, 1L));
+        index.onProductChanged(ProductChangedEvent.created(product(4L, null, 1L)));
+        assertThat(index.range(0, 100, null, 0, 10).getIds()).containsExactly(3L, 2L);
+        assertThat(index.count(10.0, 10.0)).isEqualTo(1);
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    @Test
+    void categoryDeleteDropsItsProducts() {
+        index.onProductChanged(ProductChangedEvent.created(product(1L, 1.0, 7L)));
+        index.onProductChanged(ProductChangedEvent.created(product(2L, 2.0, 8L)));
+        index.onProductChanged(ProductChangedEvent.created(product(3L, 3.0, 7L)));
+        assertThat(index.range(0, 10, 7L, 0, 10).getIds()).containsExactly(1L, 3L);
+
+        index.onCategoryChanged(CategoryChangedEvent.deleted(7L, List.of(1L, 3L)));
+
+        ProductPriceIndex.Range range = index.range(0, 10, null, 0, 10);
+        assertThat(range.getIds()).containsExactly(2L);
+        assertThat(range.getCount()).isEqualTo(1);
+    }
+
+    @Test
+    void matchesASortedModelUnderRandomChanges() {
+        Random random = new Random(42);
+        Map<Long, ProductResponse> model = new HashMap<>();
+        for (int step = 0; step < 30_000; step++) {
+            long id = 1 + random.nextInt(3_000);
+            int action = random.nextInt(10);
+            if (action == 0) {
+                index.onProductChanged(ProductChangedEvent.deleted(id, 1L));
+                model.remove(id);
+            } else {
+                // few distinct prices: many ties, ordered by id
+                ProductResponse product = product(id, (double) random.nextInt(200), (long) random.nextInt(5));
+                index.onProductChanged(model.containsKey(id)
+                        ? ProductChangedEvent.updated(product, 1L)
+                        : ProductChangedEvent.created(product));
+                model.put(id, product);
+            }
+            // queries in between bulk runs (more than MAX_PENDING changes without a query)
+            if (step % 7_000 == 6_999 || random.nextInt(500) == 0) {
+                assertMatches(model, random);
+            }
+        }
+        assertMatches(model, random);
+    }
+
+    private void assertMatches(Map<Long, ProductResponse> model, Random random) {
+        double min = random.nextInt(100);
+        double max = min + random.nextInt(100);
+        Long categoryId = random.nextBoolean() ? null : (long) random.nextInt(5);
+        List<Long> expected = model.values().stream()
+                .filter(p -> p.getPrice() >= min && p.getPrice() <= max)
+                .filter(p -> categoryId == null || categoryId.equals(p.getCategoryId()))
+                .sorted(Comparator.comparingDouble(ProductResponse::getPrice).thenComparingLong(ProductResponse::getId))
+                .map(ProductResponse::getId)
+                .toList();
+
+        ProductPriceIndex.Range range = index.range(min, max, categoryId, 3, 50);
+        assertThat(range.getCount()).isEqualTo(expected.size());
+        assertThat(range.getIds()).containsExactly(expected.subList(Math.min(3, expected.size()), Math.min(53, expected.size()))
+                .stream().mapToLong(Long::longValue).toArray());
+        assertThat(index.size()).isEqualTo(model.size());
+    }
+
+    private static ProductResponse product(Long id, Double price, Long categoryId) {
+        return new ProductResponse(id, "product " + id, "description", price, categoryId);
+    }
+}
@@ -0,0 +1,136 @@
+package com.categories.product.search;
+
+import com.categories.product.dto.productDTO.ProductResponse;
+import com.categories.product.event.CategoryChangedEvent;
+import com.categories.product.event.ProductChangedEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductSearchIndexTest {
+
+    // no repository: the index starts empty and is fed with events only
+    private final ProductSearchIndex index = new ProductSearchIndex(null, null, null);
+
+    @Test
+    void nameMatchRanksBeforeDescriptionMatch() {
+        index.onProductChanged(ProductChangedEvent.created(product(1L, "desk lamp", "warm light")));
+        index.onProductChanged(ProductChangedEvent.created(product(2L, "office chair", "fits under any desk")));
+        index.onProductChanged(ProductChangedEvent.created(product(3L, "sofa", "green")));
+
+        ProductSearchIndex.Hits hits = index.search("desk", 0, 10);
+        assertThat(hits.getTotal()).isEqualTo(2);
+        assertThat(ids(hits)).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void updatesAndDeletesReplaceTheIndexedTerms() {
+        index.onProductChanged(ProductChangedEvent.created(product(1L, "red chair", "wood")));
+        index.onProductChanged(ProductChangedEvent.created(product(2L, "red table", "wood")));
+
+        index.onProductChanged(ProductChangedEvent.updated(product(1L, "blue chair", "wood"), 1L));
+        assertThat(ids(index.search("red", 0, 10))).containsExactly(2L);
+        assertThat(ids(index.search("blue", 0, 10))).containsExactly(1L);
+
+        index.onCategoryChanged(CategoryChangedEvent.deleted(1L, List.of(2L)));
+        assertThat(index.search("red", 0, 10).getTotal()).isZero();
+        assertThat(ids(index.search("wood", 0, 10))).containsExactly(1L);
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void pagesFollowTheRanking() {
+        for (long id = 1; id <= 25; id++) {
+            index.onProductChanged(ProductChangedEvent.created(product(id, "lamp", "d")));
+        }
+        // equal scores -> lower id first
+        assertThat(ids(index.search("lamp", 1, 10))).containsExactly(11L, 12L, 13L, 14L, 15L, 16L, 17L, 18L, 19L, 20L);
+        assertThat(ids(index.search("lamp", 2, 10))).containsExactly(21L, 22L, 23L, 24L, 25L);
+        assertThat(index.search("lamp", 3, 10).getProducts()).isEmpty();
+    }
+
+    // churn past the renumbering threshold, every search ranked like a brute force BM25 over the live products
+    @Test
+    void matchesBruteForceRankingUnderChurn() {
+        Random random = new Random(7);
+        String[] words = {"red", "blue", "green", "chair", "table", "lamp", "desk", "sofa", "oak", "steel"};
+        Map<Long, ProductResponse> model = new HashMap<>();
+        for (int step = 0; step < 20_000; step++) {
+            long id = 1 + random.nextInt(500);
+            if (random.nextInt(5) == 0) {
+                index.onProductChanged(ProductChangedEvent.deleted(id, 1L));
+                model.remove(id);
+            } else {
+                ProductResponse product = product(id, phrase(random, words, 1 + random.nextInt(3)),
+                        phrase(random, words, random.nextInt(4)));
+                index.onProductChanged(model.containsKey(id)
+                        ? ProductChangedEvent.updated(product, 1L)
+                        : ProductChangedEvent.created(product));
+                model.put(id, product);
+            }
+            if (step % 2_000 == 1_999) {
+                String query = phrase(random, words, 1 + random.nextInt(3));
+                List<Long> expected = bruteForce(model, query);
+                ProductSearchIndex.Hits hits = index.search(query, 0, 30);
+                assertThat(hits.getTotal()).isEqualTo(expected.size());
+                assertThat(ids(hits)).containsExactlyElementsOf(expected.subList(0, Math.min(30, expected.size())));
+            }
+        }
+        assertThat(index.size()).isEqualTo(model.size());
+    }
+
+    private static List<Long> bruteForce(Map<Long, ProductResponse> model, String query) {
+        Map<Long, Map<String, Integer>> frequencies = new HashMap<>();
+        long totalLength = 0;
+        for (ProductResponse product : model.values()) {
+            Map<String, Integer> terms = new HashMap<>();
+            Tokenizer.tokenize(product.getName()).forEach(token -> terms.merge(token, 2, Integer::sum));
+            Tokenizer.tokenize(product.getDescription()).forEach(token -> terms.merge(token, 1, Integer::sum));
+            frequencies.put(product.getId(), terms);
+            totalLength += terms.values().stream().mapToInt(Integer::intValue).sum();
+        }
+        double avgLength = (double) totalLength / model.size();
+        Set<String> queryTerms = new LinkedHashSet<>(Tokenizer.tokenize(query));
+
+        Map<Long, Double> scores = new HashMap<>();
+        for (String term : queryTerms) {
+            long documentFrequency = frequencies.values().stream().filter(terms -> terms.containsKey(term)).count();
+            double idf = Math.log(1 + (model.size() - documentFrequency + 0.5) / (documentFrequency + 0.5));
+            frequencies.forEach((id, terms) -> {
+                Integer tf = terms.get(term);
+                if (tf == null) return;
+                int length = terms.values().stream().mapToInt(Integer::intValue).sum();
+                scores.merge(id, idf * tf * 2.2 / (tf + 1.2 * (1 - 0.75 + 0.75 * length / avgLength)), Double::sum);
+            });
+        }
+        List<Long> ranked = new ArrayList<>(scores.keySet());
+        // same formula, same term order as the index: scores compare exactly, ties by lower id
+        ranked.sort(Comparator.<Long, Double>comparing(scores::get).reversed().thenComparingLong(id -> id));
+        return ranked;
+    }
+
+    private static String phrase(Random random, String[] words, int length) {
+        StringBuilder phrase = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            phrase.append(words[random.nextInt(words.length)]).append(' ');
+        }
+        return phrase.toString().trim();
+    }
+
+    private static List<Long> ids(ProductSearchIndex.Hits hits) {
+        return hits.getProducts().stream().map(ProductResponse::getId).toList();
+    }
+
+    private static ProductResponse product(Long id, String name, String description) {
+        return new ProductResponse(id, name, description, 1.0, 1L);
+    }
+}
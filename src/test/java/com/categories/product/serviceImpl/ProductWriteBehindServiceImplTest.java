@@ -0,0 +1,210 @@
+package com.categories.product.serviceImpl;
+
+import com.categories.product.cache.EntityCache;
+import com.categories.product.dto.productDTO.ProductRequest;
+import com.categories.product.dto.productDTO.ProductResponse;
+import com.categories.product.event.ProductChangedEvent;
+import com.categories.product.repositories.CategoryRepository;
+import com.categories.product.repositories.ProductRepository;
+import com.categories.product.sync.ChangeSequence;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ProductWriteBehindServiceImplTest {
+
+    // the products table: id -> current row, batches apply all or nothing like one transaction
+    private final Map<Long, ProductResponse> table = new HashMap<>();
+    private final Set<Long> existingCategories = Set.of(1L, 2L);
+    private final AtomicBoolean databaseDown = new AtomicBoolean();
+    private final List<ProductChangedEvent> events = new ArrayList<>();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private ProductWriteBehindServiceImpl service;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        ProductRepository productRepository = mock(ProductRepository.class);
+        when(productRepository.findResponsesByIdIn(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            return ids.stream().filter(table::containsKey).map(id -> copy(table.get(id))).toList();
+        });
+
+        EntityCache entityCache = mock(EntityCache.class);
+        when(entityCache.getProduct(anyLong(), any())).thenAnswer(invocation ->
+                ((Function<Long, ProductResponse>) invocation.getArgument(1)).apply(invocation.getArgument(0)));
+
+        ChangeSequence changeSequence = mock(ChangeSequence.class);
+        when(changeSequence.next()).thenReturn(1L);
+
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenAnswer(invocation -> executeBatch(invocation.getArgument(1), invocation.getArgument(3)));
+
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+
+        ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+        doAnswer(invocation -> events.add(invocation.getArgument(0))).when(eventPublisher).publishEvent(any(Object.class));
+
+        service = new ProductWriteBehindServiceImpl(productRepository, mock(CategoryRepository.class), entityCache,
+                changeSequence, jdbcTemplate, transactionManager, eventPublisher, meterRegistry,
+                true, Duration.ofHours(1), 4, 100, 500, Duration.ofSeconds(1));
+        service.start();
+
+        table.put(1L, row(1L, "chair", 1L, 1L));
+        table.put(2L, row(2L, "table", 1L, 1L));
+        table.put(3L, row(3L, "lamp", 1L, 1L));
+    }
+
+    @AfterEach
+    void tearDown() {
+        databaseDown.set(false);
+        service.stop();
+    }
+
+    @Test
+    void laterUpdatesOfTheSameProductReplaceTheBufferedOne() {
+        service.enqueueUpdate(1L, request("red chair", 2));
+        service.enqueueUpdate(1L, request("blue chair", 1));
+
+        assertThat(service.flush()).isEqualTo(1);
+        assertThat(table.get(1L).getName()).isEqualTo("blue chair");
+        assertThat(table.get(1L).getVersion()).isEqualTo(2L);
+        assertThat(events).singleElement().satisfies(event -> {
+            assertThat(event.getProduct().getName()).isEqualTo("blue chair");
+            assertThat(event.getPreviousCategoryId()).isEqualTo(1L);
+        });
+        assertThat(count("updates", "accepted")).isEqualTo(1);
+        assertThat(count("updates", "coalesced")).isEqualTo(1);
+        assertThat(count("rows", "written")).isEqualTo(1);
+    }
+
+    @Test
+    void newerSynchronousWriteSupersedesTheBufferedUpdate() {
+        service.enqueueUpdate(1L, request("red chair", 1));
+        // a synchronous PUT commits before the flush, the row moves on to version 2
+        table.put(1L, row(1L, "green chair", 2L, 2L));
+
+        assertThat(service.flush()).isZero();
+        assertThat(table.get(1L).getName()).isEqualTo("green chair");
+        assertThat(events).isEmpty();
+        assertThat(count("rows", "superseded")).isEqualTo(1);
+    }
+
+    @Test
+    void rowThatFailsOnItsOwnIsDroppedWithoutHoldingBackTheBatch() {
+        service.enqueueUpdate(1L, request("red chair", 1));
+        service.enqueueUpdate(2L, request("red table", 9)); // category 9 does not exist (deleted after the request)
+        service.enqueueUpdate(3L, request("red lamp", 2));
+
+        assertThat(service.flush()).isEqualTo(2);
+        assertThat(table.get(1L).getName()).isEqualTo("red chair");
+        assertThat(table.get(2L).getName()).isEqualTo("table");
+        assertThat(table.get(3L).getName()).isEqualTo("red lamp");
+        assertThat(count("rows", "dropped")).isEqualTo(1);
+
+        // nothing requeued, the next flush has nothing to do
+        assertThat(service.flush()).isZero();
+        assertThat(meterRegistry.get("catalog.write-behind.pending").gauge().value()).isZero();
+    }
+
+    @Test
+    void unreachableDatabaseKeepsTheRowsAndANewerUpdateWins() {
+        service.enqueueUpdate(1L, request("red chair", 1));
+        service.enqueueUpdate(2L, request("red table", 1));
+        databaseDown.set(true);
+
+        assertThat(service.flush()).isZero();
+        assertThat(count("rows", "failed")).isEqualTo(2);
+        assertThat(meterRegistry.get("catalog.write-behind.pending").gauge().value()).isEqualTo(2);
+
+        databaseDown.set(false);
+        service.enqueueUpdate(1L, request("blue chair", 1));
+        assertThat(service.flush()).isEqualTo(2);
+        assertThat(table.get(1L).getName()).isEqualTo("blue chair");
+        assertThat(table.get(2L).getName()).isEqualTo("red table");
+    }
+
+    private int[][] executeBatch(Collection<Object> batch, ParameterizedPreparedStatementSetter<Object> setter) throws Exception {
+        if (databaseDown.get()) {
+            throw new CannotCreateTransactionException("Could not open JDBC Connection");
+        }
+        List<Object[]> statements = new ArrayList<>();
+        for (Object update : batch) {
+            Object[] parameters = new Object[8];
+            PreparedStatement statement = mock(PreparedStatement.class);
+            doAnswer(invocation -> parameters[(int) invocation.getArgument(0)] = invocation.getArgument(1))
+                    .when(statement).setString(anyInt(), any());
+            doAnswer(invocation -> parameters[(int) invocation.getArgument(0)] = invocation.getArgument(1))
+                    .when(statement).setObject(anyInt(), any());
+            doAnswer(invocation -> parameters[(int) invocation.getArgument(0)] = invocation.getArgument(1))
+                    .when(statement).setLong(anyInt(), anyLong());
+            setter.setValues(statement, update);
+            statements.add(parameters);
+        }
+        for (Object[] parameters : statements) {
+            if (!existingCategories.contains((Long) parameters[4])) {
+                throw new DataIntegrityViolationException("FK_PRODUCTS_CATEGORY: category " + parameters[4]);
+            }
+        }
+
+        int[] rowCounts = new int[statements.size()];
+        for (int i = 0; i < statements.size(); i++) {
+            Object[] parameters = statements.get(i);
+            ProductResponse current = table.get((Long) parameters[6]);
+            if (current == null || !current.getVersion().equals(parameters[7])) continue;
+            table.put(current.getId(), row(current.getId(), (String) parameters[1], (Long) parameters[4], current.getVersion() + 1));
+            rowCounts[i] = 1;
+        }
+        return new int[][]{rowCounts};
+    }
+
+    private double count(String meter, String outcome) {
+        return meterRegistry.get("catalog.write-behind." + meter).tag("outcome", outcome).counter().count();
+    }
+
+    private static ProductRequest request(String name, int categoryId) {
+        return new ProductRequest(name, "d", 1.0, categoryId);
+    }
+
+    private static ProductResponse row(Long id, String name, Long categoryId, Long version) {
+        ProductResponse product = new ProductResponse(id, name, "d", 1.0, categoryId);
+        product.setVersion(version);
+        return product;
+    }
+
+    private static ProductResponse copy(ProductResponse product) {
+        return row(product.getId(), product.getName(), product.getCategoryId(), product.getVersion());
+    }
+}
@@ -0,0 +1,103 @@
+package com.categories.product.serviceImpl;
+
+import com.categories.product.dto.userDTO.UserRequestDTO;
+import com.categories.product.dto.userDTO.UserResponseDTO;
+import com.categories.product.services.MyUserDetailsService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.util.ClassUtils;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/*
+    Refresh token rotation and reuse detection against a real database (H2 of the "embedded" profile):
+      ./mvnw -Pembedded test -Dtest=RefreshTokenRotationIntegrationTest
+    Skipped when the profile's H2 driver is not on the classpath.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("embedded")
+@EnabledIf("h2Available")
+class RefreshTokenRotationIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MyUserDetailsService userService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    static boolean h2Available() {
+        return ClassUtils.isPresent("org.h2.Driver", null);
+    }
+
+    @Test
+    void reusedTokenRevokesTheWholeFamily() throws Exception {
+        UserResponseDTO user = userService.registerUser(new UserRequestDTO("rotation-user", "secret", null)).join();
+        String first = user.getRefreshToken();
+
+        // Rotation: a new refresh token (and access token) of the same family
+        JsonNode rotated = objectMapper.readTree(refresh(first)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.username").value("rotation-user"))
+                .andExpect(jsonPath("$.token").isNotEmpty())
+                .andReturn().getResponse().getContentAsString());
+        String second = rotated.get("refreshToken").asText();
+        assertThat(second).isNotBlank().isNotEqualTo(first);
+
+        // Replaying the used token is reuse: 401 and every token of the family is revoked
+        refresh(first)
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.message").value("Refresh token reuse detected, sign in again"));
+        assertThat(activeTokens(user.getId())).isZero();
+
+        // so the token handed out by the rotation is dead as well
+        refresh(second)
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.message").value("Refresh token expired or revoked, sign in again"));
+    }
+
+    @Test
+    void emptyTokenIsRejected() throws Exception {
+        refresh("")
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.message").value("Refresh token is required"));
+
+        mockMvc.perform(post("/user/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    private ResultActions refresh(String refreshToken) throws Exception {
+        return mockMvc.perform(post("/user/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("refreshToken", refreshToken))));
+    }
+
+    private long activeTokens(Long userId) {
+        Long count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM refresh_tokens WHERE user_id = ? AND revoked = false", Long.class, userId);
+        return count == null ? 0 : count;
+    }
+}
@@ -0,0 +1,188 @@
+package com.categories.product.sync;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ChangeSequenceTest {
+
+    private ChangeSequence sequence;
+    private final List<Transaction> transactions = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        // empty database, the counter starts at 0
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenReturn(0L);
+        sequence = new ChangeSequence(jdbcTemplate);
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactions.forEach(Transaction::close);
+    }
+
+    @Test
+    void stableWaitsForTheOldestOpenTransaction() throws Exception {
+        Transaction first = begin();
+        Transaction second = begin();
+        Transaction third = begin();
+
+        assertThat(first.next()).isEqualTo(1);
+        assertThat(second.next()).isEqualTo(2);
+        assertThat(third.next()).isEqualTo(3);
+        assertThat(sequence.stable()).isZero();
+
+        // 2 and 3 commit before 1, the feed must not move past 0 yet
+        third.complete(TransactionSynchronization.STATUS_COMMITTED);
+        assertThat(sequence.stable()).isZero();
+        second.complete(TransactionSynchronization.STATUS_COMMITTED);
+        assertThat(sequence.stable()).isZero();
+
+        first.complete(TransactionSynchronization.STATUS_COMMITTED);
+        assertThat(sequence.stable()).isEqualTo(3);
+    }
+
+    @Test
+    void laterSequencesOfAnOpenTransactionStayBelowStable() throws Exception {
+        Transaction first = begin();
+        Transaction second = begin();
+
+        assertThat(first.next()).isEqualTo(1);
+        assertThat(second.next()).isEqualTo(2);
+        assertThat(first.next()).isEqualTo(3);
+
+        second.complete(TransactionSynchronization.STATUS_COMMITTED);
+        assertThat(sequence.stable()).isZero();
+
+        first.complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+        assertThat(sequence.stable()).isEqualTo(3);
+    }
+
+    @Test
+    void concurrentTransactionsNeverExposeAnOpenSequence() throws Exception {
+        int workers = 8;
+        int transactionsPerWorker = 500;
+        // every sequence whose transaction has finished, marked before ChangeSequence releases it
+        Set<Long> finished = ConcurrentHashMap.newKeySet();
+        AtomicBoolean running = new AtomicBoolean(true);
+
+        ExecutorService pool = Executors.newFixedThreadPool(workers + 1);
+        try {
+            Future<Long> checker = pool.submit(() -> {
+                long previous = 0;
+                while (running.get()) {
+                    long stable = sequence.stable();
+                    assertThat(stable).isGreaterThanOrEqualTo(previous);
+                    for (long seq = previous + 1; seq <= stable; seq++) {
+                        assertThat(finished).contains(seq);
+                    }
+                    previous = stable;
+                }
+                return previous;
+            });
+
+            List<Future<?>> writers = new ArrayList<>();
+            for (int w = 0; w < workers; w++) {
+                writers.add(pool.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int t = 0; t < transactionsPerWorker; t++) {
+                        TransactionSynchronizationManager.initSynchronization();
+                        List<Long> stamped = new ArrayList<>();
+                        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                            @Override
+                            public void afterCompletion(int status) {
+                                finished.addAll(stamped);
+                            }
+                        });
+                        int stamps = 1 + random.nextInt(3);
+                        for (int s = 0; s < stamps; s++) {
+                            stamped.add(sequence.next());
+                            Thread.yield();
+                        }
+                        completeCurrent(random.nextInt(10) == 0
+                                ? TransactionSynchronization.STATUS_ROLLED_BACK
+                                : TransactionSynchronization.STATUS_COMMITTED);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> writer : writers) {
+                writer.get(30, TimeUnit.SECONDS);
+            }
+            running.set(false);
+            checker.get(30, TimeUnit.SECONDS);
+
+            assertThat(sequence.stable()).isEqualTo(finished.size());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private Transaction begin() throws Exception {
+        Transaction transaction = new Transaction();
+        transactions.add(transaction);
+        return transaction;
+    }
+
+    // what AbstractPlatformTransactionManager does after commit / rollback
+    private static void completeCurrent(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+    }
+
+    // Transaction synchronization is bound to a thread, every transaction gets its own
+    private final class Transaction implements AutoCloseable {
+
+        private final ExecutorService thread = Executors.newSingleThreadExecutor();
+
+        private Transaction() throws Exception {
+            call(() -> {
+                TransactionSynchronizationManager.initSynchronization();
+                return null;
+            });
+        }
+
+        private long next() throws Exception {
+            return call(sequence::next);
+        }
+
+        private void complete(int status) throws Exception {
+            call(() -> {
+                completeCurrent(status);
+                return null;
+            });
+        }
+
+        private <T> T call(Callable<T> task) throws Exception {
+            return thread.submit(task).get(5, TimeUnit.SECONDS);
+        }
+
+        @Override
+        public void close() {
+            thread.shutdownNow();
+        }
+    }
+}